@@ -0,0 +1,81 @@
+package com.game.cache;
+
+import com.game.entity.Player;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Size-bounded, W-TinyLFU evicted cache of players by id. Missing players are never cached.
+ */
+@Component
+@ManagedResource(objectName = "com.game:type=PlayerCache")
+public class PlayerCache {
+    private final Cache<Long, Player> cache;
+
+    public PlayerCache(@Value("${players.cache.max-size:10000}") long maxSize,
+                       @Value("${players.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+
+    public Player get(Long id, Function<Long, Player> loader) {
+        return cache.get(id, loader);
+    }
+
+    /**
+     * Caches {@code player} unless a newer version of it is already cached by a concurrent writer.
+     */
+    public void put(Player player) {
+        cache.asMap().merge(player.getId(), player, PlayerCache::newer);
+    }
+
+    private static Player newer(Player cached, Player player) {
+        if (cached.getVersion() == null || player.getVersion() == null) return player;
+        return player.getVersion() >= cached.getVersion() ? player : cached;
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    @ManagedOperation
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @ManagedAttribute
+    public long getSize() {
+        return cache.estimatedSize();
+    }
+
+    @ManagedAttribute
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    @ManagedAttribute
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+
+    @ManagedAttribute
+    public long getEvictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    @ManagedAttribute
+    public double getHitRate() {
+        return cache.stats().hitRate();
+    }
+}
@@ -0,0 +1,126 @@
+package com.game.cache;
+
+import com.game.controller.PlayerOrder;
+import com.game.controller.SearchFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches list, page and count results of player searches.
+ * Every write bumps the generation that is part of each key, so all older results become unreachable at once
+ * and age out of the weight-bounded cache.
+ */
+@Component
+@ManagedResource(objectName = "com.game:type=SearchResultCache")
+public class SearchResultCache {
+    private static final int ENTRY_BYTES = 128;
+    private static final int PLAYER_BYTES = 256;
+
+    private final Cache<Key, Object> cache;
+    // seeded with the start time so generations, and the list ETags built from them, do not repeat across restarts
+    private final AtomicLong generation = new AtomicLong(System.currentTimeMillis());
+
+    public SearchResultCache(@Value("${players.search-cache.max-bytes:33554432}") long maxBytes) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, Object value) -> ENTRY_BYTES + PLAYER_BYTES * players(value))
+                .recordStats()
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String query, SearchFilter searchFilter, PlayerOrder order, Integer pageNumber, Integer pageSize,
+                     Supplier<T> loader) {
+        Key key = new Key(query, searchFilter.normalized(), order, pageNumber, pageSize, generation.get());
+        return (T) cache.get(key, k -> loader.get());
+    }
+
+    public void onWrite() {
+        generation.incrementAndGet();
+    }
+
+    @ManagedOperation
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @ManagedAttribute
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    @ManagedAttribute
+    public long getSize() {
+        return cache.estimatedSize();
+    }
+
+    @ManagedAttribute
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    @ManagedAttribute
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+
+    @ManagedAttribute
+    public double getHitRate() {
+        return cache.stats().hitRate();
+    }
+
+    private static int players(Object value) {
+        if (value instanceof Collection) return ((Collection<?>) value).size();
+        if (value instanceof Page) return ((Page<?>) value).getNumberOfElements();
+        return 0;
+    }
+
+    private static final class Key {
+        private final String query;
+        private final SearchFilter searchFilter;
+        private final PlayerOrder order;
+        private final Integer pageNumber;
+        private final Integer pageSize;
+        private final long generation;
+
+        private Key(String query, SearchFilter searchFilter, PlayerOrder order, Integer pageNumber, Integer pageSize,
+                    long generation) {
+            this.query = query;
+            this.searchFilter = searchFilter;
+            this.order = order;
+            this.pageNumber = pageNumber;
+            this.pageSize = pageSize;
+            this.generation = generation;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key that = (Key) o;
+            return generation == that.generation &&
+                    query.equals(that.query) &&
+                    searchFilter.equals(that.searchFilter) &&
+                    order == that.order &&
+                    Objects.equals(pageNumber, that.pageNumber) &&
+                    Objects.equals(pageSize, that.pageSize);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(query, searchFilter, order, pageNumber, pageSize, generation);
+        }
+    }
+}
@@ -1,13 +1,28 @@
 package com.game.config;
 
+import com.game.level.LevelCurve;
+import com.game.level.ThresholdLevelCurve;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableMBeanExport;
 import org.springframework.context.annotation.Profile;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.dao.annotation.PersistenceExceptionTranslationPostProcessor;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jmx.support.RegistrationPolicy;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.JpaVendorAdapter;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
@@ -17,6 +32,7 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 import javax.persistence.EntityManagerFactory;
 import javax.sql.DataSource;
+import java.util.Locale;
 import java.util.Properties;
 
 import static org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType.H2;
@@ -25,29 +41,64 @@ import static org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType.
 @EnableTransactionManagement
 @ComponentScan("com.game")
 @EnableJpaRepositories(basePackages = "com.game.repository")
+@PropertySource("classpath:application.properties")
+@PropertySource(value = "${rpg.config:file:./rpg.properties}", ignoreResourceNotFound = true)
+@EnableMBeanExport(registration = RegistrationPolicy.REPLACE_EXISTING)
 public class AppConfig {
 
+    private final Environment env;
+
+    public AppConfig(@Autowired Environment env) {
+        this.env = env;
+    }
+
     @Bean
-    public LocalContainerEntityManagerFactoryBean entityManagerFactory() {
+    public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
         LocalContainerEntityManagerFactoryBean em = new LocalContainerEntityManagerFactoryBean();
-        em.setDataSource(dataSource());
+        em.setDataSource(dataSource);
         em.setPackagesToScan("com.game.entity");
 
         JpaVendorAdapter vendorAdapter = new HibernateJpaVendorAdapter();
         em.setJpaVendorAdapter(vendorAdapter);
         em.setJpaProperties(additionalProperties());
+        // the dialect is MySQL's for H2 as well, so functions that differ between them are picked by the connection
+        em.getJpaPropertyMap().put("hibernate.metadata_builder_contributor", new BinaryLikeFunction(vendor(dataSource)));
 
         return em;
     }
 
     @Profile("prod")
     @Bean
-    public DataSource dataSource() {
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
-        dataSource.setDriverClassName("com.mysql.cj.jdbc.Driver");
-        dataSource.setUrl("jdbc:mysql://localhost:3306/rpg?serverTimezone=UTC&characterEncoding=UTF-8");
-        dataSource.setUsername("root");
-        dataSource.setPassword("root");
+    public ConnectionPoolMetrics connectionPoolMetrics() {
+        return new ConnectionPoolMetrics();
+    }
+
+    @Profile("prod")
+    @Bean(destroyMethod = "close")
+    public DataSource dataSource(ConnectionPoolMetrics connectionPoolMetrics) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("rpg");
+        config.setDriverClassName("com.mysql.cj.jdbc.Driver");
+        config.setJdbcUrl(env.getRequiredProperty("db.url"));
+        config.setUsername(env.getRequiredProperty("db.username"));
+        config.setPassword(env.getRequiredProperty("db.password"));
+
+        config.setMaximumPoolSize(env.getRequiredProperty("db.pool.maximum-size", Integer.class));
+        config.setMinimumIdle(env.getRequiredProperty("db.pool.minimum-idle", Integer.class));
+        config.setConnectionTimeout(env.getRequiredProperty("db.pool.connection-timeout-ms", Long.class));
+        config.setIdleTimeout(env.getRequiredProperty("db.pool.idle-timeout-ms", Long.class));
+        config.setMaxLifetime(env.getRequiredProperty("db.pool.max-lifetime-ms", Long.class));
+        config.setMetricsTrackerFactory(connectionPoolMetrics);
+
+        config.addDataSourceProperty("cachePrepStmts", "true");
+        config.addDataSourceProperty("useServerPrepStmts", "true");
+        config.addDataSourceProperty("prepStmtCacheSize", env.getRequiredProperty("db.prep-stmt-cache-size"));
+        config.addDataSourceProperty("prepStmtCacheSqlLimit", env.getRequiredProperty("db.prep-stmt-cache-sql-limit"));
+        config.addDataSourceProperty("rewriteBatchedStatements", "true");
+        config.addDataSourceProperty("useCursorFetch", "true");
+
+        HikariDataSource dataSource = new HikariDataSource(config);
+        migrate(dataSource);
         return dataSource;
     }
 
@@ -55,13 +106,60 @@ public class AppConfig {
     @Bean(name = "dataSource")
     public DataSource dataSourceForTests() {
 
-        return new EmbeddedDatabaseBuilder()
+        EmbeddedDatabase dataSource = new EmbeddedDatabaseBuilder()
                 .generateUniqueName(true)
                 .setType(H2)
-                .setScriptEncoding("UTF-8")
-                .ignoreFailedDrops(true)
-                .addScript("test.sql")
                 .build();
+        migrate(dataSource);
+
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource("test.sql"));
+        populator.setSqlScriptEncoding("UTF-8");
+        populator.execute(dataSource);
+        return dataSource;
+    }
+
+    /**
+     * Pool for single-row work; together with {@link #expensiveExecutor()} and {@link #transferExecutor()} it has one
+     * thread per pooled connection.
+     */
+    @Bean
+    public DbExecutor cheapExecutor() {
+        int threads = env.getRequiredProperty("db.pool.maximum-size", Integer.class)
+                - env.getRequiredProperty("executor.expensive.threads", Integer.class)
+                - env.getRequiredProperty("executor.transfer.threads", Integer.class);
+        return new DbExecutor("cheap", Math.max(1, threads),
+                env.getRequiredProperty("executor.cheap.queue-capacity", Integer.class),
+                env.getRequiredProperty("executor.cheap.timeout-ms", Long.class), env);
+    }
+
+    /**
+     * Pool for searches, counts and bulk writes, so they cannot take the threads single-row requests need.
+     */
+    @Bean
+    public DbExecutor expensiveExecutor() {
+        return new DbExecutor("expensive",
+                env.getRequiredProperty("executor.expensive.threads", Integer.class),
+                env.getRequiredProperty("executor.expensive.queue-capacity", Integer.class),
+                env.getRequiredProperty("executor.expensive.timeout-ms", Long.class), env);
+    }
+
+    /**
+     * Pool for streaming exports and imports, so they run on a fixed number of connections instead of a thread each.
+     */
+    @Bean
+    public TransferExecutor transferExecutor() {
+        return new TransferExecutor(env.getRequiredProperty("executor.transfer.threads", Integer.class),
+                env.getRequiredProperty("executor.transfer.queue-capacity", Integer.class));
+    }
+
+    @Bean
+    public LevelCurve levelCurve() {
+        return ThresholdLevelCurve.quadratic(env.getProperty("players.level.step", Integer.class, 50));
+    }
+
+    @Bean
+    public JdbcTemplate jdbcTemplate(DataSource dataSource) {
+        return new JdbcTemplate(dataSource);
     }
 
     @Bean
@@ -77,6 +175,25 @@ public class AppConfig {
         return new PersistenceExceptionTranslationPostProcessor();
     }
 
+    private void migrate(DataSource dataSource) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+    }
+
+    private static String vendor(DataSource dataSource) {
+        try {
+            String product = (String) JdbcUtils.extractDatabaseMetaData(dataSource, "getDatabaseProductName");
+            return JdbcUtils.commonDatabaseName(product).toLowerCase(Locale.ROOT);
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Cannot determine the database in use", e);
+        }
+    }
+
     private Properties additionalProperties() {
         Properties properties = new Properties();
         properties.setProperty("hibernate.dialect", "org.hibernate.dialect.MySQL5Dialect");
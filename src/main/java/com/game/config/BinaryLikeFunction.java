@@ -0,0 +1,28 @@
+package com.game.config;
+
+import org.hibernate.boot.MetadataBuilder;
+import org.hibernate.boot.spi.MetadataBuilderContributor;
+import org.hibernate.dialect.function.SQLFunctionTemplate;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers {@code binary_like(value, pattern)}, a LIKE that respects case and accents the way
+ * {@code String.contains} does. MySQL's default collation makes a plain LIKE ignore both, so there the pattern is
+ * compared as bytes; the column collation, and with it the order of names, stays as it is. H2 compares
+ * case-sensitively already. Both use a backslash as the default LIKE escape.
+ */
+public class BinaryLikeFunction implements MetadataBuilderContributor {
+    public static final String NAME = "binary_like";
+
+    private final String database;
+
+    public BinaryLikeFunction(String database) {
+        this.database = database;
+    }
+
+    @Override
+    public void contribute(MetadataBuilder metadataBuilder) {
+        String template = "mysql".equals(database) ? "(?1 like cast(?2 as binary))" : "(?1 like ?2)";
+        metadataBuilder.applySqlFunction(NAME, new SQLFunctionTemplate(StandardBasicTypes.BOOLEAN, template));
+    }
+}
@@ -0,0 +1,397 @@
+package com.game.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses API responses with gzip or deflate once they grow past a minimum size. Bodies are buffered up to that
+ * size, so small answers such as a single player or a count go out as they are, while lists, exports and search
+ * results are compressed as they stream. Server-Sent Events, responses that already carry a Content-Encoding (such as
+ * precompressed static resources) and binary types that do not shrink are passed through untouched.
+ * Every compressible response varies on Accept-Encoding, whether or not it ends up compressed, and a compressed body
+ * turns a strong ETag weak: its bytes differ from the identity body the tag was computed for.
+ */
+public class CompressionFilter extends OncePerRequestFilter {
+    static final String GZIP = "gzip";
+    static final String DEFLATE = "deflate";
+
+    private static final List<MediaType> COMPRESSIBLE = Arrays.asList(
+            MediaType.APPLICATION_JSON,
+            MediaType.valueOf("application/*+json"),
+            MediaType.valueOf("application/x-ndjson"),
+            MediaType.APPLICATION_XML,
+            MediaType.valueOf("application/javascript"),
+            MediaType.valueOf("application/x-jackson-smile"),
+            MediaType.valueOf("application/cbor"),
+            MediaType.valueOf("application/cbor-seq"),
+            MediaType.valueOf("text/*"));
+
+    private final int minSize;
+
+    public CompressionFilter(int minSize) {
+        this.minSize = minSize;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        // the body of a DeferredResult is written on the async dispatch
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        CompressingResponse wrapper = WebUtils.getNativeResponse(response, CompressingResponse.class);
+        if (wrapper == null) {
+            // without an encoding the body is never compressed, but a compressible one still gets its Vary header
+            wrapper = new CompressingResponse(response, negotiate(request), minSize);
+        }
+        chain.doFilter(request, wrapper);
+        if (!isAsyncStarted(request)) {
+            wrapper.finish();
+        }
+    }
+
+    /**
+     * Picks gzip over deflate when the client accepts both; {@code null} for clients that accept neither and for
+     * range requests, whose offsets refer to the uncompressed body.
+     */
+    static String negotiate(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null || request.getHeader(HttpHeaders.RANGE) != null) {
+            return null;
+        }
+        boolean deflate = false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (isRefused(parts)) continue;
+            if (name.equals(GZIP) || name.equals("x-gzip") || name.equals("*")) return GZIP;
+            if (name.equals(DEFLATE)) deflate = true;
+        }
+        return deflate ? DEFLATE : null;
+    }
+
+    private static boolean isRefused(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2)) <= 0;
+                } catch (NumberFormatException e) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static boolean isCompressible(String contentType) {
+        if (contentType == null) return false;
+        MediaType type;
+        try {
+            type = MediaType.parseMediaType(contentType);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (type.isCompatibleWith(MediaType.TEXT_EVENT_STREAM)) return false;
+        for (MediaType compressible : COMPRESSIBLE) {
+            if (compressible.includes(type)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Holds the body back until it either reaches the minimum size, at which point it switches to a compressing
+     * stream, or completes below it and is written as is. Flushes on a compressible body that is still being held
+     * back are ignored, so the headers stay open until the decision is made.
+     */
+    static class CompressingResponse extends HttpServletResponseWrapper {
+        private final String encoding;
+        private final int minSize;
+        private final ServletOutputStream outputStream = new CompressingOutputStream();
+        private PrintWriter writer;
+        private ByteArrayOutputStream buffer;
+        private OutputStream target;
+        private DeflaterOutputStream compressor;
+        private boolean passThrough;
+        private long contentLength = -1;
+
+        CompressingResponse(HttpServletResponse response, String encoding, int minSize) {
+            super(response);
+            this.encoding = encoding;
+            this.minSize = minSize;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(outputStream, getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            setContentLengthLong(len);
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            if (passThrough) super.setContentLengthLong(len);
+            else if (target == null) contentLength = len;
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(value == null ? -1 : Long.parseLong(value));
+            } else {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(Long.parseLong(value));
+            } else {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            skip();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            skip();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            skip();
+            super.sendRedirect(location);
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) writer.flush();
+            flush();
+            if (target != null) super.flushBuffer();
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            if (target == null) buffer = null;
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            if (target == null) {
+                buffer = null;
+                contentLength = -1;
+            }
+        }
+
+        /**
+         * Error pages and redirects are written by the container, which may still need the writer of the response.
+         */
+        private void skip() {
+            if (target == null) {
+                passThrough = true;
+                buffer = null;
+            }
+        }
+
+        private boolean isEligible() {
+            return !passThrough
+                    && isCompressible(getContentType())
+                    && getHeader(HttpHeaders.CONTENT_ENCODING) == null;
+        }
+
+        private boolean shouldCompress() {
+            return encoding != null && isEligible() && (contentLength < 0 || contentLength >= minSize);
+        }
+
+        private void write(byte[] b, int off, int len) throws IOException {
+            if (target == null) {
+                if (!shouldCompress()) {
+                    passThrough();
+                } else {
+                    if (buffer == null) buffer = new ByteArrayOutputStream(Math.min(minSize, 8192));
+                    buffer.write(b, off, len);
+                    if (buffer.size() >= minSize) compress();
+                    return;
+                }
+            }
+            target.write(b, off, len);
+        }
+
+        private void flush() throws IOException {
+            if (target == null) {
+                // an event stream commits its headers with a flush before the first event
+                if (shouldCompress()) return;
+                passThrough();
+            }
+            target.flush();
+        }
+
+        private void passThrough() throws IOException {
+            if (target != null) return;
+            // a cache must not hand this identity body to a client whose request would have been compressed
+            if (isEligible()) varyOnEncoding();
+            passThrough = true;
+            if (contentLength >= 0) super.setContentLengthLong(contentLength);
+            target = super.getOutputStream();
+            drainBuffer();
+        }
+
+        private void compress() throws IOException {
+            super.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+            varyOnEncoding();
+            String etag = getHeader(HttpHeaders.ETAG);
+            if (etag != null && !etag.startsWith("W/")) {
+                super.setHeader(HttpHeaders.ETAG, "W/" + etag);
+            }
+            OutputStream out = new UnclosableOutputStream(super.getOutputStream());
+            // sync flush, so a flush from a streaming export still reaches the client
+            compressor = GZIP.equals(encoding)
+                    ? new GZIPOutputStream(out, 8192, true)
+                    : new DeflaterOutputStream(out, true);
+            target = compressor;
+            drainBuffer();
+        }
+
+        private void varyOnEncoding() {
+            for (String vary : getHeaders(HttpHeaders.VARY)) {
+                if (vary.toLowerCase(Locale.ROOT).contains("accept-encoding")) return;
+            }
+            super.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+
+        /**
+         * Non-blocking writes go straight to the container's stream, which alone knows when it can take more bytes;
+         * a body that has already started compressing cannot be switched over.
+         */
+        private void setWriteListener(WriteListener writeListener) {
+            if (compressor != null) {
+                throw new IllegalStateException("Response body is already being compressed");
+            }
+            try {
+                passThrough();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            ((ServletOutputStream) target).setWriteListener(writeListener);
+        }
+
+        private boolean isReady() {
+            // buffered and compressed writes are blocking
+            return target == null || compressor != null || ((ServletOutputStream) target).isReady();
+        }
+
+        private void drainBuffer() throws IOException {
+            if (buffer != null) {
+                buffer.writeTo(target);
+                buffer = null;
+            }
+        }
+
+        /**
+         * Completes the body: writes out whatever is still held back, or the trailer of the compressed stream.
+         */
+        void finish() throws IOException {
+            if (writer != null) writer.flush();
+            if (target == null) {
+                if (buffer == null) return;
+                contentLength = buffer.size();
+                passThrough();
+            }
+            if (compressor != null) {
+                // releases the native deflater; the servlet stream itself is left to the container
+                compressor.close();
+                compressor = null;
+            }
+            target.flush();
+        }
+
+        private class CompressingOutputStream extends ServletOutputStream {
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                CompressingResponse.this.write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                CompressingResponse.this.flush();
+            }
+
+            @Override
+            public boolean isReady() {
+                return CompressingResponse.this.isReady();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                CompressingResponse.this.setWriteListener(writeListener);
+            }
+        }
+    }
+
+    private static class UnclosableOutputStream extends FilterOutputStream {
+
+        UnclosableOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+}
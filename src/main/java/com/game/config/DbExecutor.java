@@ -0,0 +1,167 @@
+package com.game.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.jmx.export.naming.SelfNaming;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool that runs controller work off the servlet threads. A full queue or an endpoint timeout elapsed in
+ * the queue answers 503 right away instead of letting requests pile up behind the database.
+ */
+@ManagedResource
+public class DbExecutor implements SelfNaming, DisposableBean {
+    private static final int QUEUED = 0;
+    private static final int STARTED = 1;
+    private static final int TIMED_OUT = 2;
+    // a started task always runs to its end, so the container must not answer for it either
+    static final Long NO_ASYNC_TIMEOUT = -1L;
+
+    private final String name;
+    private final Environment env;
+    private final long defaultTimeoutMs;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledThreadPoolExecutor timer;
+    private final Map<String, Long> timeouts = new ConcurrentHashMap<>();
+
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+
+    public DbExecutor(String name, int threads, int queueCapacity, long defaultTimeoutMs, Environment env) {
+        this.name = name;
+        this.env = env;
+        this.defaultTimeoutMs = defaultTimeoutMs;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), daemonThreads("db-" + name + "-"));
+        this.timer = new ScheduledThreadPoolExecutor(1, daemonThreads("db-" + name + "-timeout-"));
+        this.timer.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Runs {@code task} on the pool. The timeout is {@code executor.timeout-ms.<endpoint>},
+     * falling back to the pool's default. It only applies while the task waits in the queue: a task that has
+     * started may already have written, so it always runs to the end and its own result is returned, and a 503
+     * always means nothing was done.
+     */
+    public <T> DeferredResult<ResponseEntity<T>> submit(String endpoint, Supplier<ResponseEntity<T>> task) {
+        DeferredResult<ResponseEntity<T>> result = new DeferredResult<>(NO_ASYNC_TIMEOUT);
+        // QUEUED until either the pool starts the task or the timeout gives up on it, whichever comes first
+        AtomicInteger state = new AtomicInteger(QUEUED);
+        AtomicReference<Future<?>> future = new AtomicReference<>();
+
+        ScheduledFuture<?> timeout = timer.schedule(() -> {
+            if (state.compareAndSet(QUEUED, TIMED_OUT)) {
+                timedOut.incrementAndGet();
+                result.setResult(unavailable());
+                Future<?> queued = future.get();
+                if (queued != null) queued.cancel(false);
+            }
+        }, timeoutFor(endpoint), TimeUnit.MILLISECONDS);
+
+        try {
+            future.set(executor.submit(() -> {
+                if (!state.compareAndSet(QUEUED, STARTED)) return;
+                timeout.cancel(false);
+                try {
+                    result.setResult(task.get());
+                } catch (RuntimeException e) {
+                    result.setErrorResult(e);
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            timeout.cancel(false);
+            rejected.incrementAndGet();
+            result.setResult(unavailable());
+        }
+        return result;
+    }
+
+    private long timeoutFor(String endpoint) {
+        return timeouts.computeIfAbsent(endpoint,
+                key -> env.getProperty("executor.timeout-ms." + key, Long.class, defaultTimeoutMs));
+    }
+
+    /**
+     * Answer to a request the server had no capacity to start; nothing was done, so it can be retried.
+     */
+    public static <T> ResponseEntity<T> unavailable() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger number = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, prefix + number.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public ObjectName getObjectName() throws MalformedObjectNameException {
+        return new ObjectName("com.game:type=DbExecutor,name=" + name);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+        timer.shutdownNow();
+    }
+
+    @ManagedAttribute
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @ManagedAttribute
+    public int getQueueCapacity() {
+        return executor.getQueue().size() + executor.getQueue().remainingCapacity();
+    }
+
+    @ManagedAttribute
+    public int getActiveThreads() {
+        return executor.getActiveCount();
+    }
+
+    @ManagedAttribute
+    public int getMaxThreads() {
+        return executor.getMaximumPoolSize();
+    }
+
+    @ManagedAttribute
+    public long getCompletedTasks() {
+        return executor.getCompletedTaskCount();
+    }
+
+    @ManagedAttribute
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    @ManagedAttribute
+    public long getTimedOut() {
+        return timedOut.get();
+    }
+}
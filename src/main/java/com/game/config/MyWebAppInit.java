@@ -1,7 +1,11 @@
 package com.game.config;
 
+import org.springframework.web.filter.DelegatingFilterProxy;
+import org.springframework.web.servlet.FrameworkServlet;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
 import org.springframework.web.servlet.support.AbstractAnnotationConfigDispatcherServletInitializer;
 
+import javax.servlet.Filter;
 import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
 
@@ -28,4 +32,12 @@ public class MyWebAppInit extends AbstractAnnotationConfigDispatcherServletIniti
         return new String[]{"/"};
     }
 
+    @Override
+    protected Filter[] getServletFilters() {
+        // the compression filter is a bean of the servlet context, so it picks up the application properties
+        DelegatingFilterProxy compression = new DelegatingFilterProxy("compressionFilter");
+        compression.setContextAttribute(FrameworkServlet.SERVLET_CONTEXT_PREFIX + getServletName());
+        return new Filter[]{compression, new ResourceUrlEncodingFilter()};
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,199 @@
+package com.game.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.game.entity.Player;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hand-written (de)serializers for {@link Player}, replacing reflective field access on the hottest representation of
+ * the API. Output is byte-for-byte what the field-visibility mapper writes: fields in declaration order, nulls
+ * included, dates as epoch millis, enums by name and {@code version} left out. Input accepts what that mapper
+ * accepts; anything off the fast path is handed back to Jackson so coercions and error messages stay the same.
+ */
+public class PlayerJsonModule extends SimpleModule {
+    private static final Map<String, Race> RACES = byName(Race.values());
+    private static final Map<String, Profession> PROFESSIONS = byName(Profession.values());
+
+    public PlayerJsonModule() {
+        super("PlayerJsonModule");
+        addSerializer(Player.class, new PlayerSerializer());
+        addDeserializer(Player.class, new PlayerDeserializer());
+    }
+
+    private static <E extends Enum<E>> Map<String, E> byName(E[] constants) {
+        Map<String, E> map = new HashMap<>();
+        for (E constant : constants) {
+            map.put(constant.name(), constant);
+        }
+        return map;
+    }
+
+    static class PlayerSerializer extends StdSerializer<Player> {
+        // pre-encoded names, so field names are never escaped or re-encoded per player
+        private static final SerializedString ID = new SerializedString("id");
+        private static final SerializedString NAME = new SerializedString("name");
+        private static final SerializedString TITLE = new SerializedString("title");
+        private static final SerializedString RACE = new SerializedString("race");
+        private static final SerializedString PROFESSION = new SerializedString("profession");
+        private static final SerializedString EXPERIENCE = new SerializedString("experience");
+        private static final SerializedString LEVEL = new SerializedString("level");
+        private static final SerializedString UNTIL_NEXT_LEVEL = new SerializedString("untilNextLevel");
+        private static final SerializedString BIRTHDAY = new SerializedString("birthday");
+        private static final SerializedString BANNED = new SerializedString("banned");
+
+        PlayerSerializer() {
+            super(Player.class);
+        }
+
+        @Override
+        public void serialize(Player player, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(player);
+            writeNumber(gen, ID, player.getId());
+            writeString(gen, NAME, player.getName());
+            writeString(gen, TITLE, player.getTitle());
+            writeEnum(gen, RACE, player.getRace());
+            writeEnum(gen, PROFESSION, player.getProfession());
+            writeNumber(gen, EXPERIENCE, player.getExperience());
+            writeNumber(gen, LEVEL, player.getLevel());
+            writeNumber(gen, UNTIL_NEXT_LEVEL, player.getUntilNextLevel());
+            gen.writeFieldName(BIRTHDAY);
+            Date birthday = player.getBirthday();
+            if (birthday == null) gen.writeNull();
+            else provider.defaultSerializeDateValue(birthday, gen);
+            gen.writeFieldName(BANNED);
+            Boolean banned = player.getBanned();
+            if (banned == null) gen.writeNull();
+            else gen.writeBoolean(banned);
+            gen.writeEndObject();
+        }
+
+        private static void writeNumber(JsonGenerator gen, SerializableString field, Long value) throws IOException {
+            gen.writeFieldName(field);
+            if (value == null) gen.writeNull();
+            else gen.writeNumber(value);
+        }
+
+        private static void writeNumber(JsonGenerator gen, SerializableString field, Integer value) throws IOException {
+            gen.writeFieldName(field);
+            if (value == null) gen.writeNull();
+            else gen.writeNumber(value);
+        }
+
+        private static void writeString(JsonGenerator gen, SerializableString field, String value) throws IOException {
+            gen.writeFieldName(field);
+            if (value == null) gen.writeNull();
+            else gen.writeString(value);
+        }
+
+        private static void writeEnum(JsonGenerator gen, SerializableString field, Enum<?> value) throws IOException {
+            gen.writeFieldName(field);
+            if (value == null) gen.writeNull();
+            else gen.writeString(value.name());
+        }
+    }
+
+    static class PlayerDeserializer extends StdDeserializer<Player> {
+
+        PlayerDeserializer() {
+            super(Player.class);
+        }
+
+        @Override
+        public Player deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            String field;
+            if (p.isExpectedStartObjectToken()) {
+                field = p.nextFieldName();
+            } else if (p.hasToken(JsonToken.FIELD_NAME)) {
+                field = p.getCurrentName();
+            } else if (p.hasToken(JsonToken.END_OBJECT)) {
+                field = null;
+            } else {
+                return (Player) ctxt.handleUnexpectedToken(Player.class, p);
+            }
+
+            Player player = new Player();
+            for (; field != null; field = p.nextFieldName()) {
+                JsonToken value = p.nextToken();
+                switch (field) {
+                    case "id":
+                        player.setId(value == JsonToken.VALUE_NUMBER_INT ? p.getLongValue() : read(p, ctxt, value, Long.class));
+                        break;
+                    case "name":
+                        player.setName(value == JsonToken.VALUE_STRING ? p.getText() : read(p, ctxt, value, String.class));
+                        break;
+                    case "title":
+                        player.setTitle(value == JsonToken.VALUE_STRING ? p.getText() : read(p, ctxt, value, String.class));
+                        break;
+                    case "race":
+                        player.setRace(readEnum(p, ctxt, value, RACES, Race.class));
+                        break;
+                    case "profession":
+                        player.setProfession(readEnum(p, ctxt, value, PROFESSIONS, Profession.class));
+                        break;
+                    case "experience":
+                        player.setExperience(readInt(p, ctxt, value));
+                        break;
+                    case "level":
+                        player.setLevel(readInt(p, ctxt, value));
+                        break;
+                    case "untilNextLevel":
+                        player.setUntilNextLevel(readInt(p, ctxt, value));
+                        break;
+                    case "birthday":
+                        player.setBirthday(value == JsonToken.VALUE_NUMBER_INT ? new Date(p.getLongValue()) : read(p, ctxt, value, Date.class));
+                        break;
+                    case "banned":
+                        if (value == JsonToken.VALUE_TRUE) player.setBanned(Boolean.TRUE);
+                        else if (value == JsonToken.VALUE_FALSE) player.setBanned(Boolean.FALSE);
+                        else player.setBanned(read(p, ctxt, value, Boolean.class));
+                        break;
+                    case "version":
+                        // @JsonIgnore: accepted and dropped, never bound from a request
+                        p.skipChildren();
+                        break;
+                    default:
+                        handleUnknownProperty(p, ctxt, Player.class, field);
+                }
+            }
+            if (!p.hasToken(JsonToken.END_OBJECT)) {
+                return (Player) ctxt.handleUnexpectedToken(Player.class, p);
+            }
+            return player;
+        }
+
+        private static Integer readInt(JsonParser p, DeserializationContext ctxt, JsonToken value) throws IOException {
+            if (value == JsonToken.VALUE_NUMBER_INT && p.getNumberType() == JsonParser.NumberType.INT) {
+                return p.getIntValue();
+            }
+            return read(p, ctxt, value, Integer.class);
+        }
+
+        private static <E extends Enum<E>> E readEnum(JsonParser p, DeserializationContext ctxt, JsonToken value,
+                                                      Map<String, E> byName, Class<E> type) throws IOException {
+            if (value == JsonToken.VALUE_STRING) {
+                E constant = byName.get(p.getText());
+                if (constant != null) return constant;
+            }
+            return read(p, ctxt, value, type);
+        }
+
+        private static <T> T read(JsonParser p, DeserializationContext ctxt, JsonToken value, Class<T> type) throws IOException {
+            return value == JsonToken.VALUE_NULL ? null : ctxt.readValue(p, type);
+        }
+    }
+}
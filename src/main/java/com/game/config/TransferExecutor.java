@@ -0,0 +1,48 @@
+package com.game.config;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.function.Supplier;
+
+/**
+ * Fixed pool for exports and imports, which hold a pooled connection for as long as their stream runs. Requests
+ * check {@link #isFull()} before they start: Spring MVC cannot answer cleanly once an async task is refused, so the
+ * queue itself never refuses and the limit is applied up front.
+ */
+public class TransferExecutor extends ThreadPoolTaskExecutor {
+    private final int queueCapacity;
+
+    public TransferExecutor(int threads, int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+        setCorePoolSize(threads);
+        setMaxPoolSize(threads);
+        setThreadNamePrefix("db-transfer-");
+        setDaemon(true);
+    }
+
+    public boolean isFull() {
+        return getThreadPoolExecutor().getQueue().size() >= queueCapacity;
+    }
+
+    /**
+     * Runs {@code task} on the pool, or answers 503 without running it when the queue is full. There is no timeout:
+     * a transfer may run for as long as its body streams.
+     */
+    public <T> DeferredResult<ResponseEntity<T>> submit(Supplier<ResponseEntity<T>> task) {
+        DeferredResult<ResponseEntity<T>> result = new DeferredResult<>(DbExecutor.NO_ASYNC_TIMEOUT);
+        if (isFull()) {
+            result.setResult(DbExecutor.unavailable());
+            return result;
+        }
+        execute(() -> {
+            try {
+                result.setResult(task.get());
+            } catch (RuntimeException e) {
+                result.setErrorResult(e);
+            }
+        });
+        return result;
+    }
+}
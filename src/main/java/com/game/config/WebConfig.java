@@ -2,26 +2,45 @@ package com.game.config;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.CacheControl;
 import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.ViewResolver;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
 import org.springframework.web.servlet.view.InternalResourceViewResolver;
 import org.springframework.web.servlet.view.JstlView;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @EnableWebMvc
-@ComponentScan("com.game")
+@ComponentScan("com.game.controller")
 public class WebConfig implements WebMvcConfigurer {
 
+    private final Environment env;
+    private final TransferExecutor transferExecutor;
+
+    public WebConfig(@Autowired Environment env, @Autowired TransferExecutor transferExecutor) {
+        this.env = env;
+        this.transferExecutor = transferExecutor;
+    }
 
     @Bean
     public ViewResolver internalResourceViewResolver() {
@@ -32,6 +51,24 @@ public class WebConfig implements WebMvcConfigurer {
         return bean;
     }
 
+    /**
+     * Registered with the servlet through a {@code DelegatingFilterProxy} in {@link MyWebAppInit}.
+     */
+    @Bean
+    public CompressionFilter compressionFilter(Environment env) {
+        return new CompressionFilter(env.getProperty("http.compression.min-size", Integer.class, 2048));
+    }
+
+    /**
+     * Streaming exports run on the bounded transfer pool. The container's async timeout counts from the start of the
+     * request, not from the last write, so by default an export may stream for as long as it needs.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(transferExecutor);
+        configurer.setDefaultTimeout(env.getRequiredProperty("executor.transfer.timeout-ms", Long.class));
+    }
+
     @Override
     public void addViewControllers(ViewControllerRegistry registry) {
         registry.addViewController("/").setViewName("index");
@@ -39,14 +76,46 @@ public class WebConfig implements WebMvcConfigurer {
 
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        registry.addResourceHandler("/resources/**").addResourceLocations("/resources/");
+        // pages link to content-hashed URLs (see ResourceUrlEncodingFilter), so a file can be cached for good:
+        // any change to it is a new URL. The .gz next to each asset is written at build time by the pom.
+        registry.addResourceHandler("/resources/**")
+                .addResourceLocations("/resources/")
+                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
     }
 
     @Override
     public void configureMessageConverters(List<HttpMessageConverter<?>> converters) {
         MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter();
-        converter.getObjectMapper().setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE);
-        converter.getObjectMapper().setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+        configureMapper(converter.getObjectMapper());
         converters.add(converter);
+        // binary formats for service clients that ask for them; registered after JSON so JSON stays the default
+        MappingJackson2SmileHttpMessageConverter smile = new MappingJackson2SmileHttpMessageConverter();
+        configureMapper(smile.getObjectMapper());
+        converters.add(smile);
+        MappingJackson2CborHttpMessageConverter cbor = new MappingJackson2CborHttpMessageConverter();
+        configureMapper(cbor.getObjectMapper());
+        converters.add(cbor);
+        // after JSON, so it only writes plain text such as the framing of Server-Sent Events
+        converters.add(new StringHttpMessageConverter(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Mapper for every player representation of the API: field visibility, with players themselves going through
+     * the hand-written {@link PlayerJsonModule} that writes the same bytes without reflection.
+     */
+    public static ObjectMapper configureMapper(ObjectMapper mapper) {
+        return configureVisibility(mapper).registerModule(new PlayerJsonModule());
+    }
+
+    /**
+     * Serializes entities by their fields, the way every player representation of the API is written.
+     */
+    public static ObjectMapper configureVisibility(ObjectMapper mapper) {
+        mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE);
+        mapper.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+        return mapper;
     }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.game.controller;
+
+import org.springframework.http.HttpStatus;
+
+public class BatchItemStatus {
+    private final int index;
+    private final int status;
+    private final Long id;
+
+    public BatchItemStatus(int index, HttpStatus status, Long id) {
+        this.index = index;
+        this.status = status.value();
+        this.id = id;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,44 @@
+package com.game.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportSummary {
+    // a dump may reject millions of rows; the count stays exact, the line list is capped
+    private static final int MAX_REPORTED_LINES = 1_000;
+
+    private long accepted;
+    private long rejected;
+    private final List<Long> rejectedLines = new ArrayList<>();
+    // set when the dump could not be read to its end; records after the rejected one were never seen
+    private boolean truncated;
+
+    public void accept(int count) {
+        accepted += count;
+    }
+
+    public void reject(long line) {
+        rejected++;
+        if (rejectedLines.size() < MAX_REPORTED_LINES) rejectedLines.add(line);
+    }
+
+    public void truncate() {
+        truncated = true;
+    }
+
+    public long getAccepted() {
+        return accepted;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public List<Long> getRejectedLines() {
+        return rejectedLines;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+}
@@ -1,128 +1,479 @@
 package com.game.controller;
 
+import com.game.config.DbExecutor;
+import com.game.config.TransferExecutor;
 import com.game.entity.Player;
 import com.game.entity.Profession;
 import com.game.entity.Race;
+import com.game.event.PlayerEventPublisher;
 import com.game.service.PlayersService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
 @RequestMapping("/rest/players")
 public class PlayerController {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final Long NO_VERSION = -1L;
+
     private final PlayersService playerService;
+    private final DbExecutor cheap;
+    private final DbExecutor expensive;
+    private final TransferExecutor transfer;
+    private final PlayerEventPublisher events;
 
-    public PlayerController(@Autowired PlayersService playerService) {
+    public PlayerController(@Autowired PlayersService playerService,
+                            @Autowired @Qualifier("cheapExecutor") DbExecutor cheap,
+                            @Autowired @Qualifier("expensiveExecutor") DbExecutor expensive,
+                            @Autowired TransferExecutor transfer,
+                            @Autowired PlayerEventPublisher events) {
         this.playerService = playerService;
+        this.cheap = cheap;
+        this.expensive = expensive;
+        this.transfer = transfer;
+        this.events = events;
     }
 
     @GetMapping
-    public ResponseEntity<List<Player>> getPlayers(@RequestParam(required = false) String name,
-                                                   @RequestParam(required = false) String title,
-                                                   @RequestParam(required = false) Race race,
-                                                   @RequestParam(required = false) Profession profession,
-                                                   @RequestParam(required = false) Long after,
-                                                   @RequestParam(required = false) Long before,
-                                                   @RequestParam(required = false) Boolean banned,
-                                                   @RequestParam(required = false) Integer minExperience,
-                                                   @RequestParam(required = false) Integer maxExperience,
-                                                   @RequestParam(required = false) Integer minLevel,
-                                                   @RequestParam(required = false) Integer maxLevel,
-                                                   @RequestParam(required = false, defaultValue = "ID") PlayerOrder order,
-                                                   @RequestParam(required = false, defaultValue = "0") Integer pageNumber,
-                                                   @RequestParam(required = false, defaultValue = "3") Integer pageSize) {
+    public DeferredResult<ResponseEntity<List<Player>>> getPlayers(@RequestParam(required = false) String name,
+                                                                   @RequestParam(required = false) String title,
+                                                                   @RequestParam(required = false) Race race,
+                                                                   @RequestParam(required = false) Profession profession,
+                                                                   @RequestParam(required = false) Long after,
+                                                                   @RequestParam(required = false) Long before,
+                                                                   @RequestParam(required = false) Boolean banned,
+                                                                   @RequestParam(required = false) Integer minExperience,
+                                                                   @RequestParam(required = false) Integer maxExperience,
+                                                                   @RequestParam(required = false) Integer minLevel,
+                                                                   @RequestParam(required = false) Integer maxLevel,
+                                                                   @RequestParam(required = false, defaultValue = "ID") PlayerOrder order,
+                                                                   @RequestParam(required = false, defaultValue = "0") Integer pageNumber,
+                                                                   @RequestParam(required = false, defaultValue = "3") Integer pageSize,
+                                                                   @RequestParam(required = false) String cursor,
+                                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return expensive.submit("list", () -> {
+            String etag = tableETag();
+            if (matches(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+            SearchFilter searchFilter = new SearchFilter(name, title, race, profession, after, before, banned,
+                    minExperience, maxExperience, minLevel, maxLevel);
 
-        SearchFilter searchFilter = new SearchFilter(name, title, race, profession, after, before, banned,
-                minExperience, maxExperience, minLevel, maxLevel);
+            if (wrongPage(pageNumber, pageSize)) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+            if (cursor != null) {
+                return getPlayersAfter(searchFilter, order, cursor, pageSize, etag);
+            }
+            List<Player> players = playerService.findAll(searchFilter, order, pageNumber, pageSize);
+
+            return ResponseEntity.ok().eTag(etag).body(players);
+        });
+    }
+
+    @GetMapping("/page")
+    public DeferredResult<ResponseEntity<PlayersPage>> getPlayersPage(@RequestParam(required = false) String name,
+                                                                      @RequestParam(required = false) String title,
+                                                                      @RequestParam(required = false) Race race,
+                                                                      @RequestParam(required = false) Profession profession,
+                                                                      @RequestParam(required = false) Long after,
+                                                                      @RequestParam(required = false) Long before,
+                                                                      @RequestParam(required = false) Boolean banned,
+                                                                      @RequestParam(required = false) Integer minExperience,
+                                                                      @RequestParam(required = false) Integer maxExperience,
+                                                                      @RequestParam(required = false) Integer minLevel,
+                                                                      @RequestParam(required = false) Integer maxLevel,
+                                                                      @RequestParam(required = false, defaultValue = "ID") PlayerOrder order,
+                                                                      @RequestParam(required = false, defaultValue = "0") Integer pageNumber,
+                                                                      @RequestParam(required = false, defaultValue = "3") Integer pageSize,
+                                                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return expensive.submit("page", () -> {
+            String etag = tableETag();
+            if (matches(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+            SearchFilter searchFilter = new SearchFilter(name, title, race, profession, after, before, banned,
+                    minExperience, maxExperience, minLevel, maxLevel);
 
-        List<Player> players = playerService.findAll(searchFilter, order, pageNumber, pageSize);
+            if (wrongPage(pageNumber, pageSize)) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+            PlayersPage page = new PlayersPage(playerService.findPage(searchFilter, order, pageNumber, pageSize));
 
-        return new ResponseEntity<>(players, HttpStatus.OK);
+            return ResponseEntity.ok().eTag(etag).body(page);
+        });
     }
 
     @GetMapping("/count")
-    public ResponseEntity<Integer> getCount(@RequestParam(required = false) String name,
-                                            @RequestParam(required = false) String title,
-                                            @RequestParam(required = false) Race race,
-                                            @RequestParam(required = false) Profession profession,
-                                            @RequestParam(required = false) Long after,
-                                            @RequestParam(required = false) Long before,
-                                            @RequestParam(required = false) Boolean banned,
-                                            @RequestParam(required = false) Integer minExperience,
-                                            @RequestParam(required = false) Integer maxExperience,
-                                            @RequestParam(required = false) Integer minLevel,
-                                            @RequestParam(required = false) Integer maxLevel) {
+    public DeferredResult<ResponseEntity<Integer>> getCount(@RequestParam(required = false) String name,
+                                                            @RequestParam(required = false) String title,
+                                                            @RequestParam(required = false) Race race,
+                                                            @RequestParam(required = false) Profession profession,
+                                                            @RequestParam(required = false) Long after,
+                                                            @RequestParam(required = false) Long before,
+                                                            @RequestParam(required = false) Boolean banned,
+                                                            @RequestParam(required = false) Integer minExperience,
+                                                            @RequestParam(required = false) Integer maxExperience,
+                                                            @RequestParam(required = false) Integer minLevel,
+                                                            @RequestParam(required = false) Integer maxLevel,
+                                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return expensive.submit("count", () -> {
+            String etag = tableETag();
+            if (matches(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+            SearchFilter searchFilter = new SearchFilter(name, title, race, profession, after, before, banned,
+                    minExperience, maxExperience, minLevel, maxLevel);
+
+            Integer count = playerService.getAllCount(searchFilter);
+            if (count == null) {
+                return new ResponseEntity<>(count, HttpStatus.NOT_FOUND);
+            }
+            return ResponseEntity.ok().eTag(etag).body(count);
+        });
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPlayers(@RequestParam(required = false) String name,
+                                                               @RequestParam(required = false) String title,
+                                                               @RequestParam(required = false) Race race,
+                                                               @RequestParam(required = false) Profession profession,
+                                                               @RequestParam(required = false) Long after,
+                                                               @RequestParam(required = false) Long before,
+                                                               @RequestParam(required = false) Boolean banned,
+                                                               @RequestParam(required = false) Integer minExperience,
+                                                               @RequestParam(required = false) Integer maxExperience,
+                                                               @RequestParam(required = false) Integer minLevel,
+                                                               @RequestParam(required = false) Integer maxLevel,
+                                                               @RequestParam(required = false, defaultValue = "ndjson") String format) {
         SearchFilter searchFilter = new SearchFilter(name, title, race, profession, after, before, banned,
                 minExperience, maxExperience, minLevel, maxLevel);
 
-        Integer count = playerService.getAllCount(searchFilter);
-        if (count == null) {
-            return new ResponseEntity<>(count, HttpStatus.NOT_FOUND);
-        }
-        return new ResponseEntity<>(count, HttpStatus.OK);
+        PlayerFileFormat exportFormat = PlayerFileFormat.of(format);
+        if (exportFormat == null) return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        // the body runs on the transfer pool, see WebConfig#configureAsyncSupport
+        if (transfer.isFull()) return DbExecutor.unavailable();
+
+        StreamingResponseBody body = out -> {
+            PlayerExportWriter writer = PlayerExportWriter.of(exportFormat, out);
+            try {
+                playerService.export(searchFilter, writer::write);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.finish();
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, exportFormat.getContentType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=players." + exportFormat.getExtension())
+                .body(body);
+    }
+
+    @GetMapping("/stream")
+    public SseEmitter streamPlayers() {
+        return events.subscribe();
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Player> getPlayerById(@PathVariable(name = "id") Long id) {
-        if (wrongId(id)) {
-            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
-        }
-        Player foundPlayer = playerService.findById(id);
-        if (foundPlayer == null) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-        }
-        return new ResponseEntity<>(foundPlayer, HttpStatus.OK);
+    public DeferredResult<ResponseEntity<Player>> getPlayerById(@PathVariable(name = "id") Long id,
+                                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return cheap.submit("findById", () -> {
+            if (wrongId(id)) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+            Player foundPlayer = playerService.findById(id);
+            if (foundPlayer == null) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            String etag = playerETag(foundPlayer);
+            if (matches(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+            return ResponseEntity.ok().eTag(etag).body(foundPlayer);
+        });
     }
 
     @PostMapping
-    public ResponseEntity<Player> createPlayer(@RequestBody Player player) {
-        Player newPlayer = playerService.add(player);
-        if (newPlayer == null) {
-            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
-        }
-        return new ResponseEntity<>(newPlayer, HttpStatus.OK);
+    public DeferredResult<ResponseEntity<Player>> createPlayer(@RequestBody Player player) {
+        return cheap.submit("create", () -> {
+            Player newPlayer = playerService.add(player);
+            if (newPlayer == null) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+            return new ResponseEntity<>(newPlayer, HttpStatus.OK);
+        });
+    }
+
+    @PostMapping("/batch")
+    public DeferredResult<ResponseEntity<List<BatchItemStatus>>> createPlayers(@RequestBody List<Player> players) {
+        return expensive.submit("batch", () -> {
+            if (players.isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+            return new ResponseEntity<>(playerService.addAll(players), HttpStatus.OK);
+        });
+    }
+
+    @PostMapping("/import")
+    public DeferredResult<ResponseEntity<ImportSummary>> importPlayers(@RequestParam(required = false, defaultValue = "ndjson") String format,
+                                                                       InputStream body) {
+        return transfer.submit(() -> {
+            PlayerFileFormat importFormat = PlayerFileFormat.of(format);
+            if (importFormat == null) return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+
+            try {
+                PlayerImportReader reader;
+                try {
+                    reader = PlayerImportReader.of(importFormat, body);
+                } catch (IllegalArgumentException e) {
+                    return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+                }
+                ImportSummary summary = playerService.importAll(reader);
+
+                return new ResponseEntity<>(summary, HttpStatus.OK);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
     }
 
     @PostMapping("{id}")
-    public ResponseEntity<Player> updatePlayer(@PathVariable(name = "id") Long id,
-                                               @RequestBody Player player) {
-        if (wrongId(id) || wrongBirthdayOrExperience(player)) {
+    public DeferredResult<ResponseEntity<Player>> updatePlayer(@PathVariable(name = "id") Long id,
+                                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                               @RequestBody Player player) {
+        return cheap.submit("update", () -> {
+            if (wrongId(id) || wrongBirthdayOrExperience(player)) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+            Player updatedPlayer;
+            try {
+                updatedPlayer = playerService.update(player, id, expectedVersion(ifMatch, id));
+            } catch (OptimisticLockingFailureException e) {
+                return conflict(ifMatch);
+            }
+            if (updatedPlayer == null) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            return ResponseEntity.ok().eTag(playerETag(updatedPlayer)).body(updatedPlayer);
+        });
+    }
+
+    @PostMapping("{id}/experience")
+    public DeferredResult<ResponseEntity<Player>> addExperience(@PathVariable(name = "id") Long id,
+                                                                @RequestParam Integer delta,
+                                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return cheap.submit("addExperience", () -> {
+            if (wrongId(id)) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+            Player updatedPlayer;
+            try {
+                updatedPlayer = playerService.addExperience(id, delta, expectedVersion(ifMatch, id));
+            } catch (OptimisticLockingFailureException e) {
+                return conflict(ifMatch);
+            } catch (IllegalArgumentException e) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+            if (updatedPlayer == null) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            return ResponseEntity.ok().eTag(playerETag(updatedPlayer)).body(updatedPlayer);
+        });
+    }
+
+    @PatchMapping
+    public DeferredResult<ResponseEntity<Integer>> updatePlayers(@RequestParam(required = false) List<Long> ids,
+                                                                 @RequestParam(required = false) String name,
+                                                                 @RequestParam(required = false) String title,
+                                                                 @RequestParam(required = false) Race race,
+                                                                 @RequestParam(required = false) Profession profession,
+                                                                 @RequestParam(required = false) Long after,
+                                                                 @RequestParam(required = false) Long before,
+                                                                 @RequestParam(required = false) Boolean banned,
+                                                                 @RequestParam(required = false) Integer minExperience,
+                                                                 @RequestParam(required = false) Integer maxExperience,
+                                                                 @RequestParam(required = false) Integer minLevel,
+                                                                 @RequestParam(required = false) Integer maxLevel,
+                                                                 @RequestBody Player patch) {
+        return expensive.submit("bulkUpdate", () -> {
+            SearchFilter searchFilter = new SearchFilter(name, title, race, profession, after, before, banned,
+                    minExperience, maxExperience, minLevel, maxLevel);
+
+            if (ids == null && searchFilter.normalized().isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+            if (ids != null && ids.stream().anyMatch(this::wrongId)) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+            if (emptyPatch(patch) || wrongNameOrTitle(patch) || wrongBirthdayOrExperience(patch)) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+            int updated = playerService.updateAll(ids, searchFilter, patch);
+
+            return new ResponseEntity<>(updated, HttpStatus.OK);
+        });
+    }
+
+    @DeleteMapping("{id}")
+    public DeferredResult<ResponseEntity<Void>> deletePlayer(@PathVariable(name = "id") Long id){
+        return cheap.submit("delete", () -> {
+            if (wrongId(id)) return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            boolean deleted = playerService.remove(id);
+
+            if (deleted){
+                return new ResponseEntity<>(HttpStatus.OK);
+            } else {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+        });
+    }
+
+    @DeleteMapping
+    public DeferredResult<ResponseEntity<Integer>> deletePlayers(@RequestParam(required = false) String name,
+                                                                 @RequestParam(required = false) String title,
+                                                                 @RequestParam(required = false) Race race,
+                                                                 @RequestParam(required = false) Profession profession,
+                                                                 @RequestParam(required = false) Long after,
+                                                                 @RequestParam(required = false) Long before,
+                                                                 @RequestParam(required = false) Boolean banned,
+                                                                 @RequestParam(required = false) Integer minExperience,
+                                                                 @RequestParam(required = false) Integer maxExperience,
+                                                                 @RequestParam(required = false) Integer minLevel,
+                                                                 @RequestParam(required = false) Integer maxLevel,
+                                                                 @RequestParam(defaultValue = "false") boolean dryRun) {
+        return expensive.submit("bulkDelete", () -> {
+            SearchFilter searchFilter = new SearchFilter(name, title, race, profession, after, before, banned,
+                    minExperience, maxExperience, minLevel, maxLevel);
+
+            if (searchFilter.normalized().isEmpty()) return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            int deleted = playerService.removeAll(searchFilter, dryRun);
+
+            return new ResponseEntity<>(deleted, HttpStatus.OK);
+        });
+    }
+
+    private ResponseEntity<List<Player>> getPlayersAfter(SearchFilter searchFilter, PlayerOrder order,
+                                                         String cursor, Integer pageSize, String etag) {
+        PlayerCursor playerCursor;
+        try {
+            playerCursor = cursor.isEmpty() ? PlayerCursor.first(order) : PlayerCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        if (playerCursor.getOrder() != order) {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
-        Player updatedPlayer = playerService.update(player, id);
-        if (updatedPlayer == null) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+
+        List<Player> players = playerService.findAfter(searchFilter, playerCursor, pageSize);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        if (!players.isEmpty()) {
+            Player last = players.get(players.size() - 1);
+            headers.set(NEXT_CURSOR_HEADER, PlayerCursor.of(last, order).encode());
         }
-        return new ResponseEntity<>(updatedPlayer, HttpStatus.OK);
+        return new ResponseEntity<>(players, headers, HttpStatus.OK);
     }
 
-    @DeleteMapping("{id}")
-    public ResponseEntity<?> deletePlayer(@PathVariable(name = "id") Long id){
-        if (wrongId(id)) return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
-        boolean deleted = playerService.remove(id);
-
-        if (deleted){
-            return new ResponseEntity<>(HttpStatus.OK);
-        } else {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    /**
+     * Strong validator of one player's representation; it changes with every committed write of that player.
+     */
+    private String playerETag(Player player) {
+        return "\"" + player.getId() + "-" + player.getVersion() + "\"";
+    }
+
+    /**
+     * Weak validator for searches: any write to the table changes it, so checking it needs no query at all.
+     */
+    private String tableETag() {
+        return "W/\"players-" + playerService.getModificationCount() + "\"";
+    }
+
+    private boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        String opaqueTag = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) return true;
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals(opaqueTag)) return true;
+        }
+        return false;
+    }
+
+    private <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+
+    /**
+     * Version an {@code If-Match} header pins the write to: null for an unconditional write, and a version no player
+     * ever has when none of the listed tags can match (If-Match only accepts strong tags of this player).
+     */
+    private Long expectedVersion(String ifMatch, Long id) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) return null;
+        String prefix = "\"" + id + "-";
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (!tag.startsWith(prefix) || !tag.endsWith("\"")) continue;
+            try {
+                return Long.valueOf(tag.substring(prefix.length(), tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // not one of our tags
+            }
         }
+        return NO_VERSION;
+    }
+
+    /**
+     * A failed If-Match is the client's precondition; without one the server ran out of retries on a hot row.
+     */
+    private <T> ResponseEntity<T> conflict(String ifMatch) {
+        return new ResponseEntity<>(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT);
     }
 
     private boolean wrongId(Long id) {
         return id <= 0;
     }
 
+    private boolean wrongPage(Integer pageNumber, Integer pageSize) {
+        return pageNumber < 0 || pageSize < 1;
+    }
+
+    private boolean emptyPatch(Player patch) {
+        return patch.getName() == null && patch.getTitle() == null && patch.getRace() == null
+                && patch.getProfession() == null && patch.getBirthday() == null && patch.getBanned() == null
+                && patch.getExperience() == null;
+    }
+
+    private boolean wrongNameOrTitle(Player player) {
+        String name = player.getName();
+        String title = player.getTitle();
+        return (name != null && (name.isEmpty() || name.length() > 12))
+                || (title != null && title.length() > 30);
+    }
+
     private boolean wrongBirthdayOrExperience(Player player) {
         Integer exp = player.getExperience();
         return (exp != null && (exp < 0 || exp > 10_000_000))
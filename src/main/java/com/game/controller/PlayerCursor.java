@@ -0,0 +1,94 @@
+package com.game.controller;
+
+import com.game.entity.Player;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+public class PlayerCursor {
+    private static final String SEPARATOR = ":";
+
+    private final PlayerOrder order;
+    private final Comparable<?> key;
+    private final Long id;
+
+    private PlayerCursor(PlayerOrder order, Comparable<?> key, Long id) {
+        this.order = order;
+        this.key = key;
+        this.id = id;
+    }
+
+    public static PlayerCursor first(PlayerOrder order) {
+        return new PlayerCursor(order, null, null);
+    }
+
+    public static PlayerCursor of(Player player, PlayerOrder order) {
+        return new PlayerCursor(order, sortKey(player, order), player.getId());
+    }
+
+    public static PlayerCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(SEPARATOR, 3);
+            PlayerOrder order = PlayerOrder.valueOf(parts[0]);
+            Long id = Long.valueOf(parts[1]);
+            return new PlayerCursor(order, parseKey(order, parts[2]), id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor, e);
+        }
+    }
+
+    public String encode() {
+        String raw = order.name() + SEPARATOR + id + SEPARATOR + formatKey();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public PlayerOrder getOrder() {
+        return order;
+    }
+
+    public Comparable<?> getKey() {
+        return key;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    private static Comparable<?> sortKey(Player player, PlayerOrder order) {
+        switch (order) {
+            case NAME:
+                return player.getName();
+            case EXPERIENCE:
+                return player.getExperience();
+            case BIRTHDAY:
+                return player.getBirthday();
+            case LEVEL:
+                return player.getLevel();
+            default:
+                return player.getId();
+        }
+    }
+
+    private static Comparable<?> parseKey(PlayerOrder order, String key) {
+        switch (order) {
+            case NAME:
+                return key;
+            case EXPERIENCE:
+            case LEVEL:
+                return Integer.valueOf(key);
+            case BIRTHDAY:
+                return new Date(Long.parseLong(key));
+            default:
+                return Long.valueOf(key);
+        }
+    }
+
+    private String formatKey() {
+        if (key instanceof Date) {
+            return String.valueOf(((Date) key).getTime());
+        }
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,114 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.game.entity.Player;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes exported players one at a time, so nothing but the current row is held in memory.
+ */
+abstract class PlayerExportWriter {
+
+    static PlayerExportWriter of(PlayerFileFormat format, OutputStream out) throws IOException {
+        return format == PlayerFileFormat.CSV ? new CsvWriter(out) : new JacksonWriter(format, out);
+    }
+
+    void write(Player player) {
+        try {
+            writePlayer(player);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    abstract void writePlayer(Player player) throws IOException;
+
+    abstract void finish() throws IOException;
+
+    /**
+     * One root-level value per player: newline-delimited for JSON, back to back for the binary formats.
+     */
+    private static class JacksonWriter extends PlayerExportWriter {
+        private final ObjectWriter writer;
+        private final JsonGenerator generator;
+        private final boolean textual;
+
+        JacksonWriter(PlayerFileFormat format, OutputStream out) throws IOException {
+            ObjectMapper mapper = format.getMapper();
+            // the generator buffers rows and flushes only in finish(); a flush per row would reach the client
+            // (and a compressing filter) as one tiny write each
+            writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            generator = mapper.getFactory().createGenerator(out);
+            textual = format == PlayerFileFormat.NDJSON;
+        }
+
+        @Override
+        void writePlayer(Player player) throws IOException {
+            writer.writeValue(generator, player);
+            if (textual) generator.writeRaw('\n');
+        }
+
+        @Override
+        void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static class CsvWriter extends PlayerExportWriter {
+        private static final String HEADER = "id,name,title,race,profession,birthday,banned,experience,level,untilNextLevel";
+
+        private final Writer writer;
+
+        CsvWriter(OutputStream out) throws IOException {
+            writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write(HEADER);
+            writer.write('\n');
+        }
+
+        @Override
+        void writePlayer(Player player) throws IOException {
+            writer.write(String.valueOf(player.getId()));
+            writer.write(',');
+            writer.write(quoted(player.getName()));
+            writer.write(',');
+            writer.write(quoted(player.getTitle()));
+            writer.write(',');
+            writer.write(player.getRace().name());
+            writer.write(',');
+            writer.write(player.getProfession().name());
+            writer.write(',');
+            writer.write(String.valueOf(player.getBirthday().getTime()));
+            writer.write(',');
+            writer.write(String.valueOf(player.getBanned()));
+            writer.write(',');
+            writer.write(String.valueOf(player.getExperience()));
+            writer.write(',');
+            writer.write(String.valueOf(player.getLevel()));
+            writer.write(',');
+            writer.write(String.valueOf(player.getUntilNextLevel()));
+            writer.write('\n');
+        }
+
+        @Override
+        void finish() throws IOException {
+            writer.flush();
+        }
+
+        private static String quoted(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.game.config.WebConfig;
+
+public enum PlayerFileFormat {
+    NDJSON("application/x-ndjson", "ndjson", new JsonFactory()),
+    SMILE("application/x-jackson-smile", "sml", new SmileFactory()),
+    // a sequence of top-level CBOR items (RFC 8742), one per player
+    CBOR("application/cbor-seq", "cbor", new CBORFactory()),
+    CSV("text/csv;charset=UTF-8", "csv", null);
+
+    private final String contentType;
+    private final String extension;
+    private final ObjectMapper mapper;
+
+    PlayerFileFormat(String contentType, String extension, JsonFactory factory) {
+        this.contentType = contentType;
+        this.extension = extension;
+        this.mapper = factory == null ? null : WebConfig.configureMapper(new ObjectMapper(factory));
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Mapper writing one player per record, or {@code null} for formats not backed by Jackson.
+     */
+    ObjectMapper getMapper() {
+        return mapper;
+    }
+
+    public static PlayerFileFormat of(String value) {
+        for (PlayerFileFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) return format;
+        }
+        return null;
+    }
+}
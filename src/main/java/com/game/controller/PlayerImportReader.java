@@ -0,0 +1,265 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.game.entity.Player;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads an uploaded player dump one record at a time, so only the current record is held in memory.
+ */
+public abstract class PlayerImportReader {
+    // a player is a few hundred bytes; anything longer is rejected without being held in memory
+    static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    long line;
+    Player player;
+    boolean truncated;
+
+    /**
+     * @throws IllegalArgumentException if a CSV dump lacks a required column
+     */
+    static PlayerImportReader of(PlayerFileFormat format, InputStream in) throws IOException {
+        switch (format) {
+            case CSV:
+                return new CsvReader(in);
+            case NDJSON:
+                return new NdjsonReader(format, in);
+            default:
+                return new BinaryReader(format, in);
+        }
+    }
+
+    /**
+     * Advances to the next record, returning {@code false} at the end of the dump.
+     */
+    public abstract boolean next() throws IOException;
+
+    /**
+     * Line the current record starts on, counting from 1. Binary dumps have no lines and count records instead.
+     */
+    public long getLine() {
+        return line;
+    }
+
+    /**
+     * The current record, or {@code null} if it could not be read as a player.
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Whether the dump ended early because malformed input left no record boundary to resume from.
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * One JSON document per line, each parsed on its own, so a malformed line is rejected and the next one is read.
+     */
+    private static class NdjsonReader extends PlayerImportReader {
+        private final ObjectReader reader;
+        private final Reader in;
+        private final StringBuilder buffer = new StringBuilder();
+        private boolean overlong;
+
+        NdjsonReader(PlayerFileFormat format, InputStream in) {
+            reader = format.getMapper().readerFor(Player.class).with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+            this.in = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public boolean next() throws IOException {
+            player = null;
+            while (readLine()) {
+                line++;
+                if (overlong) return true;
+                String record = buffer.toString().trim();
+                if (record.isEmpty()) continue;
+                try {
+                    player = reader.readValue(record);
+                } catch (JsonProcessingException e) {
+                    player = null;
+                }
+                return true;
+            }
+            return false;
+        }
+
+        private boolean readLine() throws IOException {
+            buffer.setLength(0);
+            overlong = false;
+            int c = in.read();
+            if (c < 0) return false;
+            while (c >= 0 && c != '\n') {
+                if (buffer.length() < MAX_RECORD_LENGTH) buffer.append((char) c);
+                else overlong = true;
+                c = in.read();
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Smile and CBOR records back to back. Malformed bytes leave no boundary to resume from, so reading stops there
+     * and the dump is reported as truncated.
+     */
+    private static class BinaryReader extends PlayerImportReader {
+        private final ObjectMapper mapper;
+        private final JsonParser parser;
+
+        BinaryReader(PlayerFileFormat format, InputStream in) throws IOException {
+            mapper = format.getMapper();
+            parser = mapper.getFactory().createParser(in);
+        }
+
+        @Override
+        public boolean next() throws IOException {
+            if (truncated) return false;
+            player = null;
+            try {
+                line++;
+                JsonToken token = parser.nextToken();
+                if (token == null) return false;
+                JsonNode node = mapper.readTree(parser);
+                player = mapper.treeToValue(node, Player.class);
+            } catch (JsonParseException e) {
+                truncated = true;
+            } catch (JsonProcessingException e) {
+                player = null;
+            }
+            return true;
+        }
+    }
+
+    private static class CsvReader extends PlayerImportReader {
+        private static final String[] REQUIRED = {"name", "title", "race", "profession", "birthday", "experience"};
+
+        private final Reader reader;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private long nextLine = 1;
+        private boolean overlong;
+
+        CsvReader(InputStream in) throws IOException {
+            reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            List<String> header = readRecord();
+            if (overlong) throw new IllegalArgumentException("CSV header is too long");
+            if (header != null) {
+                for (int i = 0; i < header.size(); i++) columns.put(header.get(i).trim(), i);
+            }
+            for (String column : REQUIRED) {
+                if (!columns.containsKey(column)) throw new IllegalArgumentException("Missing CSV column " + column);
+            }
+        }
+
+        @Override
+        public boolean next() throws IOException {
+            if (truncated) return false;
+            List<String> record = readRecord();
+            while (record != null && !overlong && record.size() == 1 && record.get(0).isEmpty()) {
+                record = readRecord();
+            }
+            if (record == null) return false;
+            player = overlong ? null : toPlayer(record);
+            return true;
+        }
+
+        private Player toPlayer(List<String> record) {
+            if (record.size() < columns.size()) return null;
+            try {
+                Player result = new Player();
+                result.setName(record.get(columns.get("name")));
+                result.setTitle(record.get(columns.get("title")));
+                result.setRace(Race.valueOf(record.get(columns.get("race"))));
+                result.setProfession(Profession.valueOf(record.get(columns.get("profession"))));
+                result.setBirthday(new Date(Long.parseLong(record.get(columns.get("birthday")))));
+                result.setExperience(Integer.parseInt(record.get(columns.get("experience"))));
+                Integer banned = columns.get("banned");
+                if (banned != null && !record.get(banned).isEmpty()) {
+                    result.setBanned(Boolean.parseBoolean(record.get(banned)));
+                }
+                return result;
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Reads one RFC 4180 record; quoted fields may contain separators, quotes and line breaks. A record longer
+         * than {@link #MAX_RECORD_LENGTH} is flagged as overlong and skipped up to its line break. Inside an open
+         * quote there is no line break to trust, so the rest of the dump is given up as truncated.
+         */
+        private List<String> readRecord() throws IOException {
+            overlong = false;
+            int c = reader.read();
+            if (c < 0) return null;
+            line = nextLine;
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int length = 0;
+            while (c >= 0) {
+                if (++length > MAX_RECORD_LENGTH) {
+                    overlong = true;
+                    if (quoted) {
+                        truncated = true;
+                    } else {
+                        while (c >= 0 && c != '\n') c = reader.read();
+                        if (c == '\n') nextLine++;
+                    }
+                    return fields;
+                }
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int following = reader.read();
+                        if (following == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            reader.reset();
+                        }
+                    } else {
+                        if (c == '\n') nextLine++;
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    nextLine++;
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.game.controller;
+
+import com.game.entity.Player;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+public class PlayersPage {
+    private final List<Player> items;
+    private final long total;
+    private final int pageNumber;
+    private final int pageSize;
+
+    public PlayersPage(Page<Player> page) {
+        this.items = page.getContent();
+        this.total = page.getTotalElements();
+        this.pageNumber = page.getNumber();
+        this.pageSize = page.getSize();
+    }
+
+    public List<Player> getItems() {
+        return items;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public int getPageNumber() {
+        return pageNumber;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+}
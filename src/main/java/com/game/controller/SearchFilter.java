@@ -3,6 +3,8 @@ package com.game.controller;
 import com.game.entity.Profession;
 import com.game.entity.Race;
 
+import java.util.Objects;
+
 public class SearchFilter {
     private String name;
     private String title;
@@ -73,4 +75,44 @@ public class SearchFilter {
     public Integer getMaxLevel() {
         return maxLevel;
     }
+
+    public boolean isEmpty() {
+        return equals(new SearchFilter(null, null, null, null, null, null, null, null, null, null, null));
+    }
+
+    /**
+     * Canonical form for cache keys: an empty name or title matches every player, just like no filter.
+     */
+    public SearchFilter normalized() {
+        return new SearchFilter(emptyToNull(name), emptyToNull(title), race, profession, after, before, banned,
+                minExperience, maxExperience, minLevel, maxLevel);
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SearchFilter that = (SearchFilter) o;
+        return Objects.equals(name, that.name) &&
+                Objects.equals(title, that.title) &&
+                race == that.race &&
+                profession == that.profession &&
+                Objects.equals(after, that.after) &&
+                Objects.equals(before, that.before) &&
+                Objects.equals(banned, that.banned) &&
+                Objects.equals(minExperience, that.minExperience) &&
+                Objects.equals(maxExperience, that.maxExperience) &&
+                Objects.equals(minLevel, that.minLevel) &&
+                Objects.equals(maxLevel, that.maxLevel);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, title, race, profession, after, before, banned,
+                minExperience, maxExperience, minLevel, maxLevel);
+    }
 }
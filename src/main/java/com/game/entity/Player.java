@@ -1,5 +1,6 @@
 package com.game.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
@@ -7,6 +8,7 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import java.util.Date;
 
 @Entity
@@ -26,6 +28,9 @@ public class Player {
     private Integer untilNextLevel;
     private Date birthday;
     private Boolean banned;
+    @Version
+    @JsonIgnore
+    private Long version;
 
     public Player() {
     }
@@ -109,4 +114,12 @@ public class Player {
     public void setBanned(Boolean banned) {
         this.banned = banned;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
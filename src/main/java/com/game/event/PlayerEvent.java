@@ -0,0 +1,49 @@
+package com.game.event;
+
+import com.game.entity.Player;
+
+/**
+ * A committed change pushed to stream subscribers. {@code RELOAD} stands for bulk changes
+ * that are cheaper to re-query than to replay row by row.
+ */
+public class PlayerEvent {
+    public enum Type {CREATED, UPDATED, DELETED, RELOAD}
+
+    private final Type type;
+    private final Long id;
+    private final Player player;
+
+    private PlayerEvent(Type type, Long id, Player player) {
+        this.type = type;
+        this.id = id;
+        this.player = player;
+    }
+
+    public static PlayerEvent created(Player player) {
+        return new PlayerEvent(Type.CREATED, player.getId(), player);
+    }
+
+    public static PlayerEvent updated(Player player) {
+        return new PlayerEvent(Type.UPDATED, player.getId(), player);
+    }
+
+    public static PlayerEvent deleted(Long id) {
+        return new PlayerEvent(Type.DELETED, id, null);
+    }
+
+    public static PlayerEvent reload() {
+        return new PlayerEvent(Type.RELOAD, null, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+}
@@ -0,0 +1,227 @@
+package com.game.event;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans committed player changes out to Server-Sent Events subscribers. Each subscriber has a bounded
+ * buffer drained by a small shared sender pool; a subscriber whose buffer overflows is disconnected,
+ * so one slow client never holds back the writers or the other subscribers.
+ * A send is a blocking write, so a client that stops reading would keep its sender thread until the
+ * container gives up on the socket. A send that outlives its deadline disconnects the subscriber, and
+ * the pool gets a thread in place of the stuck one until the write returns.
+ */
+@Component
+@ManagedResource(objectName = "com.game:type=PlayerEventPublisher")
+public class PlayerEventPublisher implements DisposableBean {
+    private static final long IDLE = Long.MIN_VALUE;
+    private static final long STALLED = Long.MAX_VALUE;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ThreadPoolExecutor sender;
+    private final ScheduledExecutorService watchdog;
+    private final int bufferSize;
+    private final long timeoutMs;
+    private final long sendTimeoutNanos;
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong stalled = new AtomicLong();
+
+    public PlayerEventPublisher(@Value("${players.stream.buffer-size:256}") int bufferSize,
+                                @Value("${players.stream.timeout-ms:1800000}") long timeoutMs,
+                                @Value("${players.stream.sender-threads:2}") int senderThreads,
+                                @Value("${players.stream.send-timeout-ms:5000}") long sendTimeoutMs) {
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        this.sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), daemonThreads("player-events-"));
+        this.watchdog = new ScheduledThreadPoolExecutor(1, daemonThreads("player-events-watchdog-"));
+        long period = Math.max(1, sendTimeoutMs / 4);
+        watchdog.scheduleAtFixedRate(this::disconnectStalled, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(timeoutMs));
+    }
+
+    SseEmitter subscribe(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter, bufferSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Delivers {@code event} once the surrounding transaction commits, or right away outside a transaction.
+     */
+    public void publish(PlayerEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    fanOut(event);
+                }
+            });
+        } else {
+            fanOut(event);
+        }
+    }
+
+    private void fanOut(PlayerEvent event) {
+        published.incrementAndGet();
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.buffer.offer(event)) {
+                disconnect(subscriber);
+            }
+            schedule(subscriber);
+        }
+    }
+
+    private void disconnect(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        subscriber.dropped = true;
+        subscriber.buffer.clear();
+        dropped.incrementAndGet();
+    }
+
+    private void disconnectStalled() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long since = subscriber.sendingSince.get();
+            if (since != IDLE && since != STALLED && now - since > sendTimeoutNanos
+                    && subscriber.sendingSince.compareAndSet(since, STALLED)) {
+                stalled.incrementAndGet();
+                disconnect(subscriber);
+                resizeSender(1);
+            }
+        }
+    }
+
+    private void resizeSender(int delta) {
+        synchronized (sender) {
+            if (delta > 0) {
+                sender.setMaximumPoolSize(sender.getMaximumPoolSize() + delta);
+                sender.setCorePoolSize(sender.getCorePoolSize() + delta);
+            } else {
+                sender.setCorePoolSize(sender.getCorePoolSize() + delta);
+                sender.setMaximumPoolSize(sender.getMaximumPoolSize() + delta);
+            }
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            PlayerEvent event;
+            while (!subscriber.dropped && (event = subscriber.buffer.poll()) != null) {
+                long since = System.nanoTime();
+                subscriber.sendingSince.set(since);
+                try {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .name(event.getType().name().toLowerCase())
+                            .data(event, MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException e) {
+                    subscribers.remove(subscriber);
+                    subscriber.dropped = true;
+                } finally {
+                    if (!subscriber.sendingSince.compareAndSet(since, IDLE)) {
+                        // the watchdog gave up on this send and lent the pool a thread in its place
+                        resizeSender(-1);
+                    }
+                }
+            }
+            if (subscriber.dropped) {
+                // completing here, not in fanOut: complete() waits for a send stuck on a slow socket
+                subscriber.emitter.complete();
+                return;
+            }
+            subscriber.draining.set(false);
+        } while (!subscriber.buffer.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger number = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, prefix + number.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public void destroy() {
+        watchdog.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        sender.shutdownNow();
+    }
+
+    @ManagedAttribute
+    public int getSubscribers() {
+        return subscribers.size();
+    }
+
+    @ManagedAttribute
+    public long getPublished() {
+        return published.get();
+    }
+
+    @ManagedAttribute
+    public long getDroppedSubscribers() {
+        return dropped.get();
+    }
+
+    @ManagedAttribute
+    public long getStalledSubscribers() {
+        return stalled.get();
+    }
+
+    @ManagedAttribute
+    public int getSenderThreads() {
+        return sender.getPoolSize();
+    }
+
+    private static class Subscriber {
+        final SseEmitter emitter;
+        final BlockingQueue<PlayerEvent> buffer;
+        final AtomicBoolean draining = new AtomicBoolean();
+        // start of the send in progress, IDLE between sends, STALLED once the watchdog gave up on it
+        final AtomicLong sendingSince = new AtomicLong(IDLE);
+        volatile boolean dropped;
+
+        Subscriber(SseEmitter emitter, int bufferSize) {
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
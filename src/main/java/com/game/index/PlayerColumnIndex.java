@@ -0,0 +1,343 @@
+package com.game.index;
+
+import com.game.controller.PlayerOrder;
+import com.game.controller.SearchFilter;
+import com.game.entity.Player;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Read-side copy of the player table kept as parallel primitive columns, one slot per player.
+ * Slots of removed players are reused by later inserts, so the race, profession and banned bitmaps stay dense.
+ */
+@Component
+public class PlayerColumnIndex {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final BitSet banned = new BitSet();
+    private final BitSet[] raceBitmaps = bitmaps(Race.values().length);
+    private final BitSet[] professionBitmaps = bitmaps(Profession.values().length);
+    private final TrigramIndex nameTrigrams = new TrigramIndex();
+    private final TrigramIndex titleTrigrams = new TrigramIndex();
+
+    private int capacity;
+    private long[] ids;
+    private String[] names;
+    private String[] titles;
+    private byte[] races;
+    private byte[] professions;
+    private long[] birthdays;
+    private int[] experiences;
+    private int[] levels;
+
+    public PlayerColumnIndex(@Value("${players.index.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+        reset();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void clear() {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            slotsById.clear();
+            live.clear();
+            banned.clear();
+            Arrays.stream(raceBitmaps).forEach(BitSet::clear);
+            Arrays.stream(professionBitmaps).forEach(BitSet::clear);
+            nameTrigrams.clear();
+            titleTrigrams.clear();
+            reset();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void put(Player player) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            Integer slot = slotsById.get(player.getId());
+            if (slot == null) {
+                slot = live.nextClearBit(0);
+                if (slot == capacity) {
+                    grow();
+                }
+                slotsById.put(player.getId(), slot);
+                live.set(slot);
+            } else {
+                raceBitmaps[races[slot]].clear(slot);
+                professionBitmaps[professions[slot]].clear(slot);
+                nameTrigrams.remove(slot, names[slot]);
+                titleTrigrams.remove(slot, titles[slot]);
+            }
+            ids[slot] = player.getId();
+            names[slot] = player.getName();
+            titles[slot] = player.getTitle();
+            races[slot] = (byte) player.getRace().ordinal();
+            professions[slot] = (byte) player.getProfession().ordinal();
+            birthdays[slot] = player.getBirthday().getTime();
+            experiences[slot] = player.getExperience();
+            levels[slot] = player.getLevel();
+            banned.set(slot, Boolean.TRUE.equals(player.getBanned()));
+            raceBitmaps[races[slot]].set(slot);
+            professionBitmaps[professions[slot]].set(slot);
+            nameTrigrams.add(slot, names[slot]);
+            titleTrigrams.add(slot, titles[slot]);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            Integer slot = slotsById.remove(id);
+            if (slot == null) return;
+            live.clear(slot);
+            banned.clear(slot);
+            raceBitmaps[races[slot]].clear(slot);
+            professionBitmaps[professions[slot]].clear(slot);
+            nameTrigrams.remove(slot, names[slot]);
+            titleTrigrams.remove(slot, titles[slot]);
+            names[slot] = null;
+            titles[slot] = null;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public int count(SearchFilter searchFilter) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return matches(searchFilter).cardinality();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of one page of matching players, sorted by {@code order} and then by id.
+     */
+    public List<Long> find(SearchFilter searchFilter, PlayerOrder order, int offset, int limit) {
+        return findPage(searchFilter, order, offset, limit).getIds();
+    }
+
+    /**
+     * Same as {@link #find}, together with the number of all matching players, so a page and its total come from
+     * one pass over the columns.
+     */
+    public IdPage findPage(SearchFilter searchFilter, PlayerOrder order, int offset, int limit) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            BitSet matches = matches(searchFilter);
+            int[] slots = new int[matches.cardinality()];
+            for (int slot = matches.nextSetBit(0), i = 0; slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+                slots[i++] = slot;
+            }
+            sort(slots, comparator(order));
+
+            int to = (int) Math.min((long) offset + limit, slots.length);
+            List<Long> page = new ArrayList<>(Math.max(to - offset, 0));
+            for (int i = offset; i < to; i++) {
+                page.add(ids[slots[i]]);
+            }
+            return new IdPage(page, slots.length);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private BitSet matches(SearchFilter searchFilter) {
+        BitSet result = (BitSet) (searchFilter.getRace() != null
+                ? raceBitmaps[searchFilter.getRace().ordinal()]
+                : live).clone();
+        if (searchFilter.getProfession() != null) {
+            result.and(professionBitmaps[searchFilter.getProfession().ordinal()]);
+        }
+        if (Boolean.TRUE.equals(searchFilter.getBanned())) {
+            result.and(banned);
+        } else if (Boolean.FALSE.equals(searchFilter.getBanned())) {
+            result.andNot(banned);
+        }
+
+        if (hasRanges(searchFilter)) {
+            long[] words = result.toLongArray();
+            if (searchFilter.getMinExperience() != null || searchFilter.getMaxExperience() != null) {
+                retainBetween(words, experiences, searchFilter.getMinExperience(), searchFilter.getMaxExperience());
+            }
+            if (searchFilter.getMinLevel() != null || searchFilter.getMaxLevel() != null) {
+                retainBetween(words, levels, searchFilter.getMinLevel(), searchFilter.getMaxLevel());
+            }
+            if (searchFilter.getAfter() != null || searchFilter.getBefore() != null) {
+                retainBetween(words, birthdays, searchFilter.getAfter(), searchFilter.getBefore());
+            }
+            result = BitSet.valueOf(words);
+        }
+
+        if (searchFilter.getName() != null) {
+            nameTrigrams.retainCandidates(result, searchFilter.getName());
+            retainContaining(result, names, searchFilter.getName());
+        }
+        if (searchFilter.getTitle() != null) {
+            titleTrigrams.retainCandidates(result, searchFilter.getTitle());
+            retainContaining(result, titles, searchFilter.getTitle());
+        }
+        return result;
+    }
+
+    private static boolean hasRanges(SearchFilter searchFilter) {
+        return searchFilter.getMinExperience() != null || searchFilter.getMaxExperience() != null
+                || searchFilter.getMinLevel() != null || searchFilter.getMaxLevel() != null
+                || searchFilter.getAfter() != null || searchFilter.getBefore() != null;
+    }
+
+    private static void retainBetween(long[] words, int[] column, Integer min, Integer max) {
+        long from = min == null ? Integer.MIN_VALUE : min;
+        long to = max == null ? Integer.MAX_VALUE : max;
+        for (int w = 0; w < words.length; w++) {
+            if (words[w] == 0) continue;
+            long mask = 0;
+            for (int bit = 0, slot = w << 6; bit < 64; bit++, slot++) {
+                // branch-free: sign bit is set when the value is below from or above to
+                long outside = (column[slot] - from | to - column[slot]) >>> 63;
+                mask |= (outside ^ 1) << bit;
+            }
+            words[w] &= mask;
+        }
+    }
+
+    private static void retainBetween(long[] words, long[] column, Long min, Long max) {
+        long from = min == null ? Long.MIN_VALUE : min;
+        long to = max == null ? Long.MAX_VALUE : max;
+        for (int w = 0; w < words.length; w++) {
+            if (words[w] == 0) continue;
+            long mask = 0;
+            for (int bit = 0, slot = w << 6; bit < 64; bit++, slot++) {
+                if (column[slot] >= from && column[slot] <= to) mask |= 1L << bit;
+            }
+            words[w] &= mask;
+        }
+    }
+
+    private static void retainContaining(BitSet slots, String[] column, String value) {
+        for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+            if (!column[slot].contains(value)) slots.clear(slot);
+        }
+    }
+
+    private SlotComparator comparator(PlayerOrder order) {
+        SlotComparator byId = (a, b) -> Long.compare(ids[a], ids[b]);
+        switch (order) {
+            case NAME:
+                return byId.after((a, b) -> names[a].compareTo(names[b]));
+            case EXPERIENCE:
+                return byId.after((a, b) -> Integer.compare(experiences[a], experiences[b]));
+            case BIRTHDAY:
+                return byId.after((a, b) -> Long.compare(birthdays[a], birthdays[b]));
+            case LEVEL:
+                return byId.after((a, b) -> Integer.compare(levels[a], levels[b]));
+            default:
+                return byId;
+        }
+    }
+
+    private static void sort(int[] slots, SlotComparator comparator) {
+        mergeSort(slots, slots.clone(), 0, slots.length, comparator);
+    }
+
+    private static void mergeSort(int[] slots, int[] buffer, int from, int to, SlotComparator comparator) {
+        if (to - from < 2) return;
+        int middle = (from + to) >>> 1;
+        mergeSort(buffer, slots, from, middle, comparator);
+        mergeSort(buffer, slots, middle, to, comparator);
+        for (int i = from, left = from, right = middle; i < to; i++) {
+            if (right >= to || left < middle && comparator.compare(buffer[left], buffer[right]) <= 0) {
+                slots[i] = buffer[left++];
+            } else {
+                slots[i] = buffer[right++];
+            }
+        }
+    }
+
+    private static BitSet[] bitmaps(int count) {
+        BitSet[] bitmaps = new BitSet[count];
+        Arrays.setAll(bitmaps, i -> new BitSet());
+        return bitmaps;
+    }
+
+    private void reset() {
+        capacity = INITIAL_CAPACITY;
+        ids = new long[capacity];
+        names = new String[capacity];
+        titles = new String[capacity];
+        races = new byte[capacity];
+        professions = new byte[capacity];
+        birthdays = new long[capacity];
+        experiences = new int[capacity];
+        levels = new int[capacity];
+    }
+
+    private void grow() {
+        capacity *= 2;
+        ids = Arrays.copyOf(ids, capacity);
+        names = Arrays.copyOf(names, capacity);
+        titles = Arrays.copyOf(titles, capacity);
+        races = Arrays.copyOf(races, capacity);
+        professions = Arrays.copyOf(professions, capacity);
+        birthdays = Arrays.copyOf(birthdays, capacity);
+        experiences = Arrays.copyOf(experiences, capacity);
+        levels = Arrays.copyOf(levels, capacity);
+    }
+
+    public static class IdPage {
+        private final List<Long> ids;
+        private final int total;
+
+        IdPage(List<Long> ids, int total) {
+            this.ids = ids;
+            this.total = total;
+        }
+
+        public List<Long> getIds() {
+            return ids;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+    }
+
+    private interface SlotComparator {
+        int compare(int a, int b);
+
+        default SlotComparator after(SlotComparator primary) {
+            return (a, b) -> {
+                int result = primary.compare(a, b);
+                return result != 0 ? result : compare(a, b);
+            };
+        }
+    }
+}
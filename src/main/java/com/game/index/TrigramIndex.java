@@ -0,0 +1,125 @@
+package com.game.index;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Inverted index from every three-character substring of a column to the slots containing it.
+ * Each trigram keeps a sorted array of its slots, so memory grows with the number of occurrences rather than with
+ * the highest slot a trigram appears in: a rare trigram on a late row costs a few bytes, not a bitmap of the table.
+ * Not thread-safe on its own; {@link PlayerColumnIndex} guards it with its lock.
+ */
+class TrigramIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    void add(int slot, String value) {
+        for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+            postings.computeIfAbsent(trigram(value, i), key -> new Postings()).add(slot);
+        }
+    }
+
+    void remove(int slot, String value) {
+        for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+            long key = trigram(value, i);
+            Postings slots = postings.get(key);
+            if (slots == null) continue;
+            slots.remove(slot);
+            if (slots.size == 0) postings.remove(key);
+        }
+    }
+
+    void clear() {
+        postings.clear();
+    }
+
+    /**
+     * Narrows {@code candidates} to slots holding every trigram of {@code value}.
+     * Values shorter than a trigram leave the candidates untouched, so the caller falls back to a scan.
+     */
+    void retainCandidates(BitSet candidates, String value) {
+        if (value.length() < GRAM_LENGTH) return;
+
+        int grams = value.length() - GRAM_LENGTH + 1;
+        Postings[] lists = new Postings[grams];
+        for (int i = 0; i < grams; i++) {
+            lists[i] = postings.get(trigram(value, i));
+            if (lists[i] == null) {
+                candidates.clear();
+                return;
+            }
+        }
+        // the rarest trigram bounds the result, so the others are only probed for its slots
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+
+        int[] slots = Arrays.copyOf(lists[0].slots, lists[0].size);
+        int size = slots.length;
+        for (int i = 1; i < lists.length && size > 0; i++) {
+            size = lists[i].retainAll(slots, size);
+        }
+
+        BitSet matches = new BitSet();
+        for (int i = 0; i < size; i++) {
+            if (candidates.get(slots[i])) matches.set(slots[i]);
+        }
+        candidates.and(matches);
+    }
+
+    private static long trigram(String value, int from) {
+        return (long) value.charAt(from) << 32 | (long) value.charAt(from + 1) << 16 | value.charAt(from + 2);
+    }
+
+    /**
+     * Sorted, duplicate-free slots of one trigram. Slots mostly arrive in ascending order while the index is
+     * loaded, so adds are usually appends.
+     */
+    private static class Postings {
+        private int[] slots = new int[2];
+        private int size;
+
+        void add(int slot) {
+            int at = size > 0 && slots[size - 1] < slot ? -size - 1 : Arrays.binarySearch(slots, 0, size, slot);
+            if (at >= 0) return;
+            int insertAt = -at - 1;
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            System.arraycopy(slots, insertAt, slots, insertAt + 1, size - insertAt);
+            slots[insertAt] = slot;
+            size++;
+        }
+
+        void remove(int slot) {
+            int at = Arrays.binarySearch(slots, 0, size, slot);
+            if (at < 0) return;
+            System.arraycopy(slots, at + 1, slots, at, size - at - 1);
+            size--;
+            if (size > 2 && size <= slots.length / 4) {
+                slots = Arrays.copyOf(slots, slots.length / 2);
+            }
+        }
+
+        /**
+         * Keeps the first {@code size} entries of the sorted {@code other} that are also in this list, compacting
+         * them to the front, and returns how many remain.
+         */
+        int retainAll(int[] other, int size) {
+            int kept = 0;
+            int from = 0;
+            for (int i = 0; i < size && from < this.size; i++) {
+                int at = Arrays.binarySearch(slots, from, this.size, other[i]);
+                if (at >= 0) {
+                    other[kept++] = other[i];
+                    from = at + 1;
+                } else {
+                    from = -at - 1;
+                }
+            }
+            return kept;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.game.level;
+
+/**
+ * Maps experience to a level and to the experience still missing for the next one.
+ */
+public interface LevelCurve {
+    int MAX_EXPERIENCE = 10_000_000;
+
+    /**
+     * Stable name of the curve and its parameters; stored players were computed with the curve of this id.
+     */
+    String getId();
+
+    int levelOf(int experience);
+
+    int untilNextLevel(int experience);
+}
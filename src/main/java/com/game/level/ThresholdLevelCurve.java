@@ -0,0 +1,60 @@
+package com.game.level;
+
+import java.util.Arrays;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Level curve backed by a precomputed table of the experience each level starts at,
+ * so a lookup is a binary search over an {@code int[]} with no allocation and no floating point.
+ */
+public class ThresholdLevelCurve implements LevelCurve {
+    private final String id;
+    private final int[] thresholds;
+
+    /**
+     * @param threshold experience a level starts at; must be 0 for level 0 and strictly increasing
+     */
+    public ThresholdLevelCurve(String id, IntToLongFunction threshold) {
+        this.id = id;
+
+        int[] table = new int[64];
+        int size = 0;
+        long next = threshold.applyAsLong(0);
+        if (next != 0) throw new IllegalArgumentException("Level 0 must start at 0 experience");
+        // one threshold above MAX_EXPERIENCE is kept so the top level still has a next one
+        while (true) {
+            if (size == table.length) table = Arrays.copyOf(table, size * 2);
+            table[size++] = (int) next;
+            if (next > MAX_EXPERIENCE) break;
+            long following = threshold.applyAsLong(size);
+            if (following <= next || following > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Thresholds must increase and stay within int range");
+            }
+            next = following;
+        }
+        this.thresholds = Arrays.copyOf(table, size);
+    }
+
+    /**
+     * Level {@code n} starts at {@code step * n * (n + 1)} experience; {@code step = 50} is the original game curve.
+     */
+    public static ThresholdLevelCurve quadratic(int step) {
+        return new ThresholdLevelCurve("quadratic:" + step, level -> (long) step * level * (level + 1));
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public int levelOf(int experience) {
+        int index = Arrays.binarySearch(thresholds, experience);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    @Override
+    public int untilNextLevel(int experience) {
+        return thresholds[levelOf(experience) + 1] - experience;
+    }
+}
@@ -2,6 +2,14 @@ package com.game.repository;
 
 import com.game.entity.Player;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
-public interface IPlayerRepository extends JpaRepository<Player, Long> {
+import java.util.Optional;
+
+public interface IPlayerRepository extends JpaRepository<Player, Long>, JpaSpecificationExecutor<Player>,
+        PlayerQueryRepository {
+
+    Optional<Player> findFirstByOrderByIdAsc();
+
+    Optional<Player> findFirstByOrderByIdDesc();
 }
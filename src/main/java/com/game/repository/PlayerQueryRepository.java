@@ -0,0 +1,27 @@
+package com.game.repository;
+
+import com.game.entity.Player;
+import com.game.level.LevelCurve;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface PlayerQueryRepository {
+    List<Player> findPage(Specification<Player> specification, Pageable pageable);
+
+    void insertAll(List<Player> players);
+
+    int updateAll(Specification<Player> specification, Player patch);
+
+    int deleteAll(Specification<Player> specification);
+
+    void forEach(Specification<Player> specification, int fetchSize, Consumer<Player> action);
+
+    String findLevelCurve();
+
+    void saveLevelCurve(String curve);
+
+    List<Player> updateLevels(long fromId, long toId, LevelCurve curve);
+}
@@ -0,0 +1,233 @@
+package com.game.repository;
+
+import com.game.entity.Player;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+import com.game.level.LevelCurve;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaDelete;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+public class PlayerQueryRepositoryImpl implements PlayerQueryRepository {
+    private static final String INSERT_SQL = "INSERT INTO player " +
+            "(name, title, race, profession, birthday, banned, experience, level, untilNextLevel) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_RANGE_SQL = "SELECT id, name, title, race, profession, birthday, banned, " +
+            "experience, level, untilNextLevel FROM player WHERE id >= ? AND id < ?";
+    private static final String UPDATE_LEVEL_SQL = "UPDATE player SET level = ?, untilNextLevel = ?, version = version + 1 " +
+            "WHERE id = ? AND experience = ?";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PlayerQueryRepositoryImpl(@Autowired JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Player> findPage(Specification<Player> specification, Pageable pageable) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Player> query = builder.createQuery(Player.class);
+        Root<Player> root = query.from(Player.class);
+
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(toOrders(pageable.getSort(), root, builder));
+
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    /**
+     * Inserts the players as one JDBC batch and assigns the generated ids.
+     * Plain JDBC keeps the IDENTITY ids, which Hibernate would insert one statement at a time.
+     */
+    @Override
+    @Transactional
+    public void insertAll(List<Player> players) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Player player : players) {
+                    statement.setString(1, player.getName());
+                    statement.setString(2, player.getTitle());
+                    statement.setString(3, player.getRace().name());
+                    statement.setString(4, player.getProfession().name());
+                    statement.setTimestamp(5, new Timestamp(player.getBirthday().getTime()));
+                    statement.setBoolean(6, player.getBanned());
+                    statement.setInt(7, player.getExperience());
+                    statement.setInt(8, player.getLevel());
+                    statement.setInt(9, player.getUntilNextLevel());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    for (Player player : players) {
+                        keys.next();
+                        player.setId(keys.getLong(1));
+                        player.setVersion(0L);
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Copies every non-null field of {@code patch} onto the matching rows with a single UPDATE statement.
+     */
+    @Override
+    @Transactional
+    public int updateAll(Specification<Player> specification, Player patch) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Player> update = builder.createCriteriaUpdate(Player.class);
+        Root<Player> root = update.from(Player.class);
+
+        if (patch.getName() != null) update.set(root.get("name"), patch.getName());
+        if (patch.getTitle() != null) update.set(root.get("title"), patch.getTitle());
+        if (patch.getRace() != null) update.set(root.get("race"), patch.getRace());
+        if (patch.getProfession() != null) update.set(root.get("profession"), patch.getProfession());
+        if (patch.getBirthday() != null) update.set(root.get("birthday"), patch.getBirthday());
+        if (patch.getBanned() != null) update.set(root.get("banned"), patch.getBanned());
+        if (patch.getExperience() != null) update.set(root.get("experience"), patch.getExperience());
+        if (patch.getLevel() != null) update.set(root.get("level"), patch.getLevel());
+        if (patch.getUntilNextLevel() != null) update.set(root.get("untilNextLevel"), patch.getUntilNextLevel());
+        update.set(root.<Long>get("version"), builder.sum(root.get("version"), 1L));
+
+        Predicate predicate = specification.toPredicate(root, null, builder);
+        if (predicate != null) {
+            update.where(predicate);
+        }
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    /**
+     * Removes the matching rows with a single DELETE statement, without loading them first.
+     */
+    @Override
+    @Transactional
+    public int deleteAll(Specification<Player> specification) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaDelete<Player> delete = builder.createCriteriaDelete(Player.class);
+        Root<Player> root = delete.from(Player.class);
+
+        Predicate predicate = specification.toPredicate(root, null, builder);
+        if (predicate != null) {
+            delete.where(predicate);
+        }
+        return entityManager.createQuery(delete).executeUpdate();
+    }
+
+    /**
+     * Walks the matching rows in id order over a forward-only cursor, detaching each player
+     * once {@code action} is done with it so the persistence context never grows.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEach(Specification<Player> specification, int fetchSize, Consumer<Player> action) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Player> query = builder.createQuery(Player.class);
+        Root<Player> root = query.from(Player.class);
+
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(builder.asc(root.get("id")));
+
+        try (Stream<Player> players = entityManager.createQuery(query)
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream()) {
+            players.forEach(player -> {
+                action.accept(player);
+                entityManager.detach(player);
+            });
+        }
+    }
+
+    @Override
+    public String findLevelCurve() {
+        return jdbcTemplate.queryForObject("SELECT curve FROM level_curve", String.class);
+    }
+
+    /**
+     * Records {@code curve} as the one stored levels follow; called once every player was recomputed with it.
+     */
+    @Override
+    @Transactional
+    public void saveLevelCurve(String curve) {
+        jdbcTemplate.update("UPDATE level_curve SET curve = ?", curve);
+    }
+
+    /**
+     * Recomputes level and untilNextLevel of the players with ids in {@code [fromId, toId)} and returns the changed ones.
+     * A row whose experience was changed concurrently is left alone: its writer already applied the current curve.
+     */
+    @Override
+    @Transactional
+    public List<Player> updateLevels(long fromId, long toId, LevelCurve curve) {
+        List<Player> changed = new ArrayList<>();
+        jdbcTemplate.query(SELECT_RANGE_SQL, resultSet -> {
+            int experience = resultSet.getInt("experience");
+            int level = curve.levelOf(experience);
+            int untilNextLevel = curve.untilNextLevel(experience);
+            if (level == resultSet.getInt("level") && untilNextLevel == resultSet.getInt("untilNextLevel")) return;
+
+            Player player = new Player();
+            player.setId(resultSet.getLong("id"));
+            player.setName(resultSet.getString("name"));
+            player.setTitle(resultSet.getString("title"));
+            player.setRace(Race.valueOf(resultSet.getString("race")));
+            player.setProfession(Profession.valueOf(resultSet.getString("profession")));
+            player.setBirthday(resultSet.getTimestamp("birthday"));
+            player.setBanned(resultSet.getBoolean("banned"));
+            player.setExperience(experience);
+            player.setLevel(level);
+            player.setUntilNextLevel(untilNextLevel);
+            changed.add(player);
+        }, fromId, toId);
+        if (changed.isEmpty()) return changed;
+
+        List<Object[]> arguments = new ArrayList<>(changed.size());
+        for (Player player : changed) {
+            arguments.add(new Object[]{player.getLevel(), player.getUntilNextLevel(), player.getId(), player.getExperience()});
+        }
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_LEVEL_SQL, arguments);
+
+        List<Player> updated = new ArrayList<>(changed.size());
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) updated.add(changed.get(i));
+        }
+        return updated;
+    }
+}
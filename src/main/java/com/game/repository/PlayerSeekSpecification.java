@@ -0,0 +1,37 @@
+package com.game.repository;
+
+import com.game.controller.PlayerCursor;
+import com.game.controller.PlayerOrder;
+import com.game.entity.Player;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+public class PlayerSeekSpecification implements Specification<Player> {
+    private final PlayerCursor cursor;
+
+    public PlayerSeekSpecification(PlayerCursor cursor) {
+        this.cursor = cursor;
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Predicate toPredicate(Root<Player> root, CriteriaQuery<?> query, CriteriaBuilder builder) {
+        Expression<Long> id = root.get(PlayerOrder.ID.getFieldName());
+        Predicate afterId = builder.greaterThan(id, cursor.getId());
+        if (cursor.getOrder() == PlayerOrder.ID) {
+            return afterId;
+        }
+
+        // (key, id) > (?, ?) expanded, since JPQL has no row value comparison
+        Expression<Comparable> key = root.get(cursor.getOrder().getFieldName());
+        Comparable value = cursor.getKey();
+        return builder.or(
+                builder.greaterThan(key, value),
+                builder.and(builder.equal(key, value), afterId));
+    }
+}
@@ -0,0 +1,88 @@
+package com.game.repository;
+
+import com.game.config.BinaryLikeFunction;
+import com.game.controller.SearchFilter;
+import com.game.entity.Player;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+public class PlayerSpecification implements Specification<Player> {
+    // the default LIKE escape of both MySQL and H2, so binary_like needs no ESCAPE clause
+    private static final char ESCAPE_CHAR = '\\';
+
+    private final SearchFilter searchFilter;
+
+    public PlayerSpecification(SearchFilter searchFilter) {
+        this.searchFilter = searchFilter;
+    }
+
+    public static Specification<Player> idIn(Collection<Long> ids) {
+        return (root, query, builder) -> root.get("id").in(ids);
+    }
+
+    @Override
+    public Predicate toPredicate(Root<Player> root, CriteriaQuery<?> query, CriteriaBuilder builder) {
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (searchFilter.getName() != null) {
+            predicates.add(contains(builder, root.get("name"), searchFilter.getName()));
+        }
+        if (searchFilter.getTitle() != null) {
+            predicates.add(contains(builder, root.get("title"), searchFilter.getTitle()));
+        }
+        if (searchFilter.getRace() != null) {
+            predicates.add(builder.equal(root.get("race"), searchFilter.getRace()));
+        }
+        if (searchFilter.getProfession() != null) {
+            predicates.add(builder.equal(root.get("profession"), searchFilter.getProfession()));
+        }
+        if (searchFilter.getAfter() != null) {
+            predicates.add(builder.greaterThanOrEqualTo(root.get("birthday"), new Date(searchFilter.getAfter())));
+        }
+        if (searchFilter.getBefore() != null) {
+            predicates.add(builder.lessThanOrEqualTo(root.get("birthday"), new Date(searchFilter.getBefore())));
+        }
+        if (searchFilter.getBanned() != null) {
+            predicates.add(builder.equal(root.get("banned"), searchFilter.getBanned()));
+        }
+        if (searchFilter.getMinExperience() != null) {
+            predicates.add(builder.greaterThanOrEqualTo(root.get("experience"), searchFilter.getMinExperience()));
+        }
+        if (searchFilter.getMaxExperience() != null) {
+            predicates.add(builder.lessThanOrEqualTo(root.get("experience"), searchFilter.getMaxExperience()));
+        }
+        if (searchFilter.getMinLevel() != null) {
+            predicates.add(builder.greaterThanOrEqualTo(root.get("level"), searchFilter.getMinLevel()));
+        }
+        if (searchFilter.getMaxLevel() != null) {
+            predicates.add(builder.lessThanOrEqualTo(root.get("level"), searchFilter.getMaxLevel()));
+        }
+
+        return builder.and(predicates.toArray(new Predicate[0]));
+    }
+
+    /**
+     * Substring match that respects case and accents on every database, see {@link BinaryLikeFunction}.
+     */
+    private Predicate contains(CriteriaBuilder builder, Expression<String> value, String part) {
+        return builder.isTrue(builder.function(BinaryLikeFunction.NAME, Boolean.class,
+                value, builder.literal(containsPattern(part))));
+    }
+
+    private String containsPattern(String value) {
+        String escaped = value
+                .replace(String.valueOf(ESCAPE_CHAR), "" + ESCAPE_CHAR + ESCAPE_CHAR)
+                .replace("%", ESCAPE_CHAR + "%")
+                .replace("_", ESCAPE_CHAR + "_");
+        return "%" + escaped + "%";
+    }
+}
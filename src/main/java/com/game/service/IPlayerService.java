@@ -1,21 +1,48 @@
 package com.game.service;
 
+import com.game.controller.BatchItemStatus;
+import com.game.controller.ImportSummary;
+import com.game.controller.PlayerCursor;
+import com.game.controller.PlayerImportReader;
 import com.game.controller.PlayerOrder;
 import com.game.controller.SearchFilter;
 import com.game.entity.Player;
+import org.springframework.data.domain.Page;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface IPlayerService {
     List<Player> findAll(SearchFilter searchFilter, PlayerOrder order, Integer pageNumber, Integer pageSize);
 
+    Page<Player> findPage(SearchFilter searchFilter, PlayerOrder order, Integer pageNumber, Integer pageSize);
+
+    List<Player> findAfter(SearchFilter searchFilter, PlayerCursor cursor, Integer pageSize);
+
     Integer getAllCount(SearchFilter searchFilter);
 
+    long getModificationCount();
+
+    void export(SearchFilter searchFilter, Consumer<Player> action);
+
     Player add(Player player);
 
+    List<BatchItemStatus> addAll(List<Player> players);
+
+    ImportSummary importAll(PlayerImportReader reader) throws IOException;
+
     Player update(Player player, Long id);
 
+    Player update(Player player, Long id, Long expectedVersion);
+
+    Player addExperience(Long id, int delta, Long expectedVersion);
+
+    int updateAll(List<Long> ids, SearchFilter searchFilter, Player patch);
+
     boolean remove(Long id);
 
+    int removeAll(SearchFilter searchFilter, boolean dryRun);
+
     Player findById(Long id);
 }
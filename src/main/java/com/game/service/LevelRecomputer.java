@@ -0,0 +1,151 @@
+package com.game.service;
+
+import com.game.cache.PlayerCache;
+import com.game.cache.SearchResultCache;
+import com.game.entity.Player;
+import com.game.event.PlayerEvent;
+import com.game.event.PlayerEventPublisher;
+import com.game.index.PlayerColumnIndex;
+import com.game.level.LevelCurve;
+import com.game.repository.IPlayerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rewrites the stored level columns when the configured {@link LevelCurve} differs from the one they were computed with.
+ * The id range is split into chunks that are recomputed and committed in parallel, in the background.
+ */
+@Component
+@ManagedResource(objectName = "com.game:type=LevelRecompute")
+public class LevelRecomputer implements ApplicationListener<ContextRefreshedEvent> {
+    private final IPlayerRepository repository;
+    private final PlayerColumnIndex index;
+    private final PlayerCache cache;
+    private final SearchResultCache searchCache;
+    private final LevelCurve levelCurve;
+    private final PlayerEventPublisher events;
+    private final int threads;
+    private final int chunkSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicInteger completedChunks = new AtomicInteger();
+    private final AtomicLong updatedPlayers = new AtomicLong();
+
+    public LevelRecomputer(@Autowired IPlayerRepository repository,
+                           @Autowired PlayerColumnIndex index,
+                           @Autowired PlayerCache cache,
+                           @Autowired SearchResultCache searchCache,
+                           @Autowired LevelCurve levelCurve,
+                           @Autowired PlayerEventPublisher events,
+                           @Value("${players.level.recompute-threads:4}") int threads,
+                           @Value("${players.level.recompute-chunk:10000}") int chunkSize) {
+        this.repository = repository;
+        this.index = index;
+        this.cache = cache;
+        this.searchCache = searchCache;
+        this.levelCurve = levelCurve;
+        this.events = events;
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Runs once the index is loaded, whenever the stored curve id differs from the configured one. The id is only
+     * stored after every chunk is committed, so a run cut short by a crash or a restart is started again on the next
+     * startup. Instances starting together may both run it; a recompute is idempotent, so that only costs time.
+     */
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        if (!levelCurve.getId().equals(repository.findLevelCurve())) {
+            recompute(levelCurve);
+        }
+    }
+
+    @ManagedOperation
+    public void recompute() {
+        recompute(levelCurve);
+    }
+
+    /**
+     * Starts recomputing every stored player with {@code curve}; the future yields the number of changed players.
+     * The curve is recorded as the stored one only if every chunk succeeds.
+     */
+    public CompletableFuture<Long> recompute(LevelCurve curve) {
+        if (!running.compareAndSet(false, true)) {
+            CompletableFuture<Long> busy = new CompletableFuture<>();
+            busy.completeExceptionally(new IllegalStateException("Level recompute is already running"));
+            return busy;
+        }
+        completedChunks.set(0);
+        updatedPlayers.set(0);
+
+        long minId = repository.findFirstByOrderByIdAsc().map(Player::getId).orElse(0L);
+        long maxId = repository.findFirstByOrderByIdDesc().map(Player::getId).orElse(-1L);
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "level-recompute-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (long from = minId; from <= maxId; from += chunkSize) {
+            long fromId = from;
+            chunks.add(CompletableFuture.runAsync(() -> recomputeChunk(fromId, fromId + chunkSize, curve), executor));
+        }
+        return CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0]))
+                .thenRun(() -> repository.saveLevelCurve(curve.getId()))
+                .whenComplete((ignored, error) -> {
+                    executor.shutdown();
+                    running.set(false);
+                    if (updatedPlayers.get() > 0) events.publish(PlayerEvent.reload());
+                })
+                .thenApply(ignored -> updatedPlayers.get());
+    }
+
+    private void recomputeChunk(long fromId, long toId, LevelCurve curve) {
+        List<Player> changed = repository.updateLevels(fromId, toId, curve);
+        for (Player player : changed) {
+            if (index.isEnabled()) index.put(player);
+            cache.invalidate(player.getId());
+        }
+        searchCache.onWrite();
+        updatedPlayers.addAndGet(changed.size());
+        completedChunks.incrementAndGet();
+    }
+
+    @ManagedAttribute
+    public String getCurve() {
+        return levelCurve.getId();
+    }
+
+    @ManagedAttribute
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    @ManagedAttribute
+    public int getCompletedChunks() {
+        return completedChunks.get();
+    }
+
+    @ManagedAttribute
+    public long getUpdatedPlayers() {
+        return updatedPlayers.get();
+    }
+}
@@ -1,67 +1,258 @@
 package com.game.service;
 
+import com.game.cache.PlayerCache;
+import com.game.cache.SearchResultCache;
+import com.game.controller.BatchItemStatus;
+import com.game.controller.ImportSummary;
+import com.game.controller.PlayerCursor;
+import com.game.controller.PlayerImportReader;
 import com.game.controller.PlayerOrder;
 import com.game.controller.SearchFilter;
 import com.game.entity.Player;
 import com.game.entity.Profession;
 import com.game.entity.Race;
+import com.game.event.PlayerEvent;
+import com.game.event.PlayerEventPublisher;
+import com.game.index.PlayerColumnIndex;
+import com.game.level.LevelCurve;
 import com.game.repository.IPlayerRepository;
+import com.game.repository.PlayerSeekSpecification;
+import com.game.repository.PlayerSpecification;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 @Service
-public class PlayersService implements IPlayerService {
-    private final IPlayerRepository repository;
+public class PlayersService implements IPlayerService, InitializingBean {
+    private static final int INDEX_LOAD_CHUNK = 10_000;
+    private static final int ID_CHUNK = 1_000;
 
-    public PlayersService(@Autowired IPlayerRepository repository) {
+    private final IPlayerRepository repository;
+    private final PlayerColumnIndex index;
+    private final PlayerCache cache;
+    private final SearchResultCache searchCache;
+    private final LevelCurve levelCurve;
+    private final PlayerEventPublisher events;
+    private final int maxPageSize;
+    private final int batchSize;
+    private final int exportFetchSize;
+    private final int maxUpdateRetries;
+
+    public PlayersService(@Autowired IPlayerRepository repository,
+                          @Autowired PlayerColumnIndex index,
+                          @Autowired PlayerCache cache,
+                          @Autowired SearchResultCache searchCache,
+                          @Autowired LevelCurve levelCurve,
+                          @Autowired PlayerEventPublisher events,
+                          @Value("${players.page.max-size:100}") int maxPageSize,
+                          @Value("${players.batch.size:500}") int batchSize,
+                          @Value("${players.export.fetch-size:1000}") int exportFetchSize,
+                          @Value("${players.update.max-retries:3}") int maxUpdateRetries) {
         this.repository = repository;
+        this.index = index;
+        this.cache = cache;
+        this.searchCache = searchCache;
+        this.levelCurve = levelCurve;
+        this.events = events;
+        this.maxPageSize = maxPageSize;
+        this.batchSize = batchSize;
+        this.exportFetchSize = exportFetchSize;
+        this.maxUpdateRetries = maxUpdateRetries;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!index.isEnabled()) return;
+        index.clear();
+
+        Pageable chunk = PageRequest.of(0, INDEX_LOAD_CHUNK, sortBy(PlayerOrder.ID));
+        List<Player> players = repository.findPage(Specification.where(null), chunk);
+        while (!players.isEmpty()) {
+            players.forEach(index::put);
+            PlayerCursor cursor = PlayerCursor.of(players.get(players.size() - 1), PlayerOrder.ID);
+            players = repository.findPage(new PlayerSeekSpecification(cursor), chunk);
+        }
     }
 
     @Override
     public List<Player> findAll(SearchFilter searchFilter, PlayerOrder order, Integer pageNumber, Integer pageSize) {
-        Sort.Order playerOrder = Sort.Order.by(order.getFieldName());
-        List<Player> players = repository.findAll(Sort.by(playerOrder));
-        players = filtered(players, searchFilter);
-        int firstPlayer = getFirstResultIndex(pageNumber, pageSize);
-        int lastPlayer = getLastResultIndex(firstPlayer, pageSize);
+        Pageable pageable = PageRequest.of(pageNumber, Math.min(pageSize, maxPageSize), sortBy(order));
+        return searchCache.get("list", searchFilter, order, pageNumber, pageable.getPageSize(),
+                () -> loadAll(searchFilter, order, pageable));
+    }
+
+    @Override
+    public Page<Player> findPage(SearchFilter searchFilter, PlayerOrder order, Integer pageNumber, Integer pageSize) {
+        Pageable pageable = PageRequest.of(pageNumber, Math.min(pageSize, maxPageSize), sortBy(order));
+        return searchCache.get("page", searchFilter, order, pageNumber, pageable.getPageSize(),
+                () -> loadPage(searchFilter, order, pageable));
+    }
 
-        if (lastPlayer > players.size()) {
-            lastPlayer = players.size();
+    private List<Player> loadAll(SearchFilter searchFilter, PlayerOrder order, Pageable pageable) {
+        if (index.isEnabled()) {
+            return findIndexed(searchFilter, order, pageable);
         }
+        return repository.findPage(new PlayerSpecification(searchFilter), pageable);
+    }
 
-        return players.subList(firstPlayer, lastPlayer);
+    private Page<Player> loadPage(SearchFilter searchFilter, PlayerOrder order, Pageable pageable) {
+        if (index.isEnabled()) {
+            PlayerColumnIndex.IdPage ids = index.findPage(searchFilter, order, (int) pageable.getOffset(), pageable.getPageSize());
+            return new PageImpl<>(loadIndexed(ids.getIds()), pageable, ids.getTotal());
+        }
+        return repository.findAll(new PlayerSpecification(searchFilter), pageable);
+    }
+
+    @Override
+    public List<Player> findAfter(SearchFilter searchFilter, PlayerCursor cursor, Integer pageSize) {
+        Pageable pageable = PageRequest.of(0, Math.min(pageSize, maxPageSize), sortBy(cursor.getOrder()));
+        Specification<Player> specification = new PlayerSpecification(searchFilter);
+        if (cursor.getId() != null) {
+            specification = specification.and(new PlayerSeekSpecification(cursor));
+        }
+        return repository.findPage(specification, pageable);
     }
 
     @Override
     public Integer getAllCount(SearchFilter searchFilter) {
-        List<Player> players = repository.findAll();
-        players = filtered(players, searchFilter);
-        return players.size();
+        return searchCache.get("count", searchFilter, null, null, null, () -> loadCount(searchFilter));
+    }
+
+    /**
+     * Changes whenever any player is written through this service; list and count ETags are derived from it.
+     */
+    @Override
+    public long getModificationCount() {
+        return searchCache.getGeneration();
+    }
+
+    @Override
+    public void export(SearchFilter searchFilter, Consumer<Player> action) {
+        repository.forEach(new PlayerSpecification(searchFilter), exportFetchSize, action);
+    }
+
+    private Integer loadCount(SearchFilter searchFilter) {
+        if (index.isEnabled()) {
+            return index.count(searchFilter);
+        }
+        return Math.toIntExact(repository.count(new PlayerSpecification(searchFilter)));
     }
 
     @Override
     public Player add(Player player) {
-        if (parameterIsNull(player)) return null;
-        if (wrongParameters(player)) return null;
+        if (!prepareNew(player)) return null;
+
+        Player savedPlayer = repository.saveAndFlush(player);
+        if (index.isEnabled()) index.put(savedPlayer);
+        cache.put(savedPlayer);
+        searchCache.onWrite();
+        events.publish(PlayerEvent.created(savedPlayer));
+        return savedPlayer;
+    }
 
-        if (player.getBanned() == null) player.setBanned(false);
-        player.setLevel(currentLevel(player));
-        player.setUntilNextLevel(expToNextLevel(player));
+    @Override
+    public List<BatchItemStatus> addAll(List<Player> players) {
+        List<BatchItemStatus> statuses = new ArrayList<>(players.size());
+        List<Player> batch = new ArrayList<>(Math.min(batchSize, players.size()));
+        List<Integer> batchIndexes = new ArrayList<>(batch.size());
+
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            if (player == null || !prepareNew(player)) {
+                statuses.add(new BatchItemStatus(i, HttpStatus.BAD_REQUEST, null));
+                continue;
+            }
+            statuses.add(null);
+            batch.add(player);
+            batchIndexes.add(i);
+            if (batch.size() == batchSize) {
+                insertBatch(batch, batchIndexes, statuses);
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertBatch(batch, batchIndexes, statuses);
+        }
+        if (statuses.stream().anyMatch(status -> status.getId() != null)) {
+            events.publish(PlayerEvent.reload());
+        }
+        return statuses;
+    }
 
-        return repository.saveAndFlush(player);
+    private void insertBatch(List<Player> batch, List<Integer> batchIndexes, List<BatchItemStatus> statuses) {
+        insertBatch(batch);
+        for (int i = 0; i < batch.size(); i++) {
+            Player player = batch.get(i);
+            cache.put(player);
+            statuses.set(batchIndexes.get(i), new BatchItemStatus(batchIndexes.get(i), HttpStatus.OK, player.getId()));
+        }
+        batch.clear();
+        batchIndexes.clear();
+    }
+
+    @Override
+    public ImportSummary importAll(PlayerImportReader reader) throws IOException {
+        ImportSummary summary = new ImportSummary();
+        List<Player> batch = new ArrayList<>(batchSize);
+
+        // the next record is only parsed once the previous chunk is committed,
+        // so a slow database throttles the upload instead of buffering it
+        while (reader.next()) {
+            Player player = reader.getPlayer();
+            if (player == null || !prepareNew(player)) {
+                summary.reject(reader.getLine());
+                continue;
+            }
+            batch.add(player);
+            if (batch.size() == batchSize) {
+                insertBatch(batch);
+                summary.accept(batch.size());
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertBatch(batch);
+            summary.accept(batch.size());
+        }
+        if (reader.isTruncated()) summary.truncate();
+        if (summary.getAccepted() > 0) events.publish(PlayerEvent.reload());
+        return summary;
+    }
+
+    /**
+     * Commits one chunk of new players. Imported players are not cached: a dump would only evict the hot entries.
+     */
+    private void insertBatch(List<Player> batch) {
+        repository.insertAll(batch);
+        if (index.isEnabled()) batch.forEach(index::put);
+        searchCache.onWrite();
     }
 
     @Override
     public Player update(Player player, Long id) {
-        Player updatePlayer = findById(id);
-        if (updatePlayer == null) return null;
+        return update(player, id, null);
+    }
 
+    @Override
+    public Player update(Player player, Long id, Long expectedVersion) {
         String name = player.getName();
         String title = player.getTitle();
         Race race = player.getRace();
@@ -70,64 +261,185 @@ public class PlayersService implements IPlayerService {
         Boolean banned = player.getBanned();
         Integer experience = player.getExperience();
 
-        if (name != null) updatePlayer.setName(name);
-        if (title != null) updatePlayer.setTitle(title);
-        if (race != null) updatePlayer.setRace(race);
-        if (profession != null) updatePlayer.setProfession(profession);
-        if (birthday != null) updatePlayer.setBirthday(birthday);
-        if (banned != null) updatePlayer.setBanned(banned);
-        if (experience != null) updatePlayer.setExperience(experience);
+        return write(id, expectedVersion, updatePlayer -> {
+            if (name != null) updatePlayer.setName(name);
+            if (title != null) updatePlayer.setTitle(title);
+            if (race != null) updatePlayer.setRace(race);
+            if (profession != null) updatePlayer.setProfession(profession);
+            if (birthday != null) updatePlayer.setBirthday(birthday);
+            if (banned != null) updatePlayer.setBanned(banned);
+            if (experience != null) updatePlayer.setExperience(experience);
+        });
+    }
+
+    @Override
+    public Player addExperience(Long id, int delta, Long expectedVersion) {
+        return write(id, expectedVersion, updatePlayer -> {
+            long experience = (long) updatePlayer.getExperience() + delta;
+            if (experience < 0 || experience > LevelCurve.MAX_EXPERIENCE) {
+                throw new IllegalArgumentException("Experience out of range: " + experience);
+            }
+            updatePlayer.setExperience((int) experience);
+        });
+    }
+
+    /**
+     * Applies {@code change} to a fresh copy of the player and saves it under the {@code @Version} check. A caller
+     * holding {@code expectedVersion} gets the conflict back; otherwise the change is re-applied to the winner's state
+     * up to {@code players.update.max-retries} times, so concurrent writers never overwrite each other's fields.
+     */
+    private Player write(Long id, Long expectedVersion, Consumer<Player> change) {
+        int attempts = expectedVersion == null ? maxUpdateRetries + 1 : 1;
+        for (int attempt = 1; ; attempt++) {
+            // loaded past the cache: the cached instance may be serialized concurrently and must not be mutated
+            Player updatePlayer = repository.findById(id).orElse(null);
+            if (updatePlayer == null) return null;
+            if (expectedVersion != null && !expectedVersion.equals(updatePlayer.getVersion())) {
+                throw new OptimisticLockingFailureException(
+                        "Player " + id + " is at version " + updatePlayer.getVersion() + ", not " + expectedVersion);
+            }
+
+            change.accept(updatePlayer);
+            updatePlayer.setLevel(currentLevel(updatePlayer));
+            updatePlayer.setUntilNextLevel(expToNextLevel(updatePlayer));
+
+            Player savedPlayer;
+            try {
+                savedPlayer = repository.saveAndFlush(updatePlayer);
+            } catch (OptimisticLockingFailureException e) {
+                cache.invalidate(id);
+                if (attempt >= attempts) throw e;
+                continue;
+            } catch (RuntimeException e) {
+                cache.invalidate(id);
+                throw e;
+            }
+            if (index.isEnabled()) index.put(savedPlayer);
+            cache.put(savedPlayer);
+            searchCache.onWrite();
+            events.publish(PlayerEvent.updated(savedPlayer));
+            return savedPlayer;
+        }
+    }
+
+    @Override
+    public int updateAll(List<Long> ids, SearchFilter searchFilter, Player patch) {
+        patch.setId(null);
+        patch.setLevel(null);
+        patch.setUntilNextLevel(null);
+        if (patch.getExperience() != null) {
+            // experience is one constant for every row, so are the derived level columns
+            patch.setLevel(currentLevel(patch));
+            patch.setUntilNextLevel(expToNextLevel(patch));
+        }
+
+        Specification<Player> specification = new PlayerSpecification(searchFilter);
+        List<Long> affectedIds = ids;
+        if (affectedIds == null && index.isEnabled()) {
+            affectedIds = index.find(searchFilter, PlayerOrder.ID, 0, Integer.MAX_VALUE);
+        }
 
-        updatePlayer.setLevel(currentLevel(updatePlayer));
-        updatePlayer.setUntilNextLevel(expToNextLevel(updatePlayer));
+        int updated = 0;
+        if (ids == null) {
+            updated = repository.updateAll(specification, patch);
+        } else {
+            for (List<Long> chunk : chunks(ids)) {
+                updated += repository.updateAll(specification.and(PlayerSpecification.idIn(chunk)), patch);
+            }
+        }
 
-        return updatePlayer;
+        if (affectedIds == null) {
+            cache.invalidateAll();
+        } else {
+            affectedIds.forEach(cache::invalidate);
+            if (index.isEnabled()) {
+                chunks(affectedIds).forEach(chunk -> repository.findAllById(chunk).forEach(index::put));
+            }
+        }
+        searchCache.onWrite();
+        if (updated > 0) events.publish(PlayerEvent.reload());
+        return updated;
     }
 
     @Override
     public boolean remove(Long id) {
-        Player player = findById(id);
-        if (player == null) return false;
-        repository.delete(player);
+        int deleted = repository.deleteAll(PlayerSpecification.idIn(Collections.singletonList(id)));
+        if (deleted == 0) return false;
+        if (index.isEnabled()) index.remove(id);
+        cache.invalidate(id);
+        searchCache.onWrite();
+        events.publish(PlayerEvent.deleted(id));
         return true;
     }
 
+    @Override
+    public int removeAll(SearchFilter searchFilter, boolean dryRun) {
+        if (dryRun) return getAllCount(searchFilter);
+
+        List<Long> affectedIds = index.isEnabled()
+                ? index.find(searchFilter, PlayerOrder.ID, 0, Integer.MAX_VALUE)
+                : null;
+        int deleted = repository.deleteAll(new PlayerSpecification(searchFilter));
+
+        if (affectedIds == null) {
+            cache.invalidateAll();
+        } else {
+            affectedIds.forEach(id -> {
+                index.remove(id);
+                cache.invalidate(id);
+            });
+        }
+        searchCache.onWrite();
+        if (deleted > 0) events.publish(PlayerEvent.reload());
+        return deleted;
+    }
+
     @Override
     public Player findById(Long id) {
-        return repository.findById(id).orElse(null);
+        return cache.get(id, key -> repository.findById(key).orElse(null));
+    }
+
+    private List<Player> findIndexed(SearchFilter searchFilter, PlayerOrder order, Pageable pageable) {
+        return loadIndexed(index.find(searchFilter, order, (int) pageable.getOffset(), pageable.getPageSize()));
     }
 
-    private List<Player> filtered(List<Player> players, SearchFilter searchFilter) {
-        List<Player> filteredList = new ArrayList<>();
+    private List<Player> loadIndexed(List<Long> ids) {
+        Map<Long, Player> playersById = new HashMap<>();
+        repository.findAllById(ids).forEach(player -> playersById.put(player.getId(), player));
 
-        players.forEach(player -> {
-                    if (searchFilter.getName() != null && !player.getName().contains(searchFilter.getName())) return;
-                    if (searchFilter.getTitle() != null && !player.getTitle().contains(searchFilter.getTitle())) return;
-                    if (searchFilter.getRace() != null && !player.getRace().equals(searchFilter.getRace())) return;
-                    if (searchFilter.getProfession() != null && !player.getProfession().equals(searchFilter.getProfession()))
-                        return;
-                    if (searchFilter.getAfter() != null && player.getBirthday().getTime() < searchFilter.getAfter()) return;
-                    if (searchFilter.getBefore() != null && player.getBirthday().getTime() > searchFilter.getBefore()) return;
-                    if (searchFilter.getBanned() != null && !player.getBanned().equals(searchFilter.getBanned())) return;
-                    if (searchFilter.getMinExperience() != null && player.getExperience() < searchFilter.getMinExperience())
-                        return;
-                    if (searchFilter.getMaxExperience() != null && player.getExperience() > searchFilter.getMaxExperience())
-                        return;
-                    if (searchFilter.getMinLevel() != null && player.getLevel() < searchFilter.getMinLevel()) return;
-                    if (searchFilter.getMaxLevel() != null && player.getLevel() > searchFilter.getMaxLevel()) return;
+        List<Player> players = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Player player = playersById.get(id);
+            // deleted between the index lookup and the load
+            if (player != null) players.add(player);
+        }
+        return players;
+    }
 
-                    filteredList.add(player);
-                }
-        );
-        return filteredList;
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += ID_CHUNK) {
+            chunks.add(ids.subList(from, Math.min(from + ID_CHUNK, ids.size())));
+        }
+        return chunks;
     }
 
-    private Integer getFirstResultIndex(Integer pageNumber, Integer pageSize) {
-        return pageNumber * pageSize;
+    private Sort sortBy(PlayerOrder order) {
+        Sort sort = Sort.by(order.getFieldName());
+        if (order != PlayerOrder.ID) {
+            sort = sort.and(Sort.by(PlayerOrder.ID.getFieldName()));
+        }
+        return sort;
     }
 
-    private Integer getLastResultIndex(Integer from, Integer pageSize) {
-        return from + pageSize;
+    private boolean prepareNew(Player player) {
+        if (parameterIsNull(player)) return false;
+        if (wrongParameters(player)) return false;
+
+        if (player.getBanned() == null) player.setBanned(false);
+        player.setLevel(currentLevel(player));
+        player.setUntilNextLevel(expToNextLevel(player));
+        return true;
     }
 
     private boolean parameterIsNull(Player player) {
@@ -144,7 +456,7 @@ public class PlayersService implements IPlayerService {
 
         if (nameLength < 1 || nameLength > 12) return true;
         if (player.getTitle().length() > 30) return true;
-        if (player.getExperience() < 0 || player.getExperience() > 10_000_000) return true;
+        if (player.getExperience() < 0 || player.getExperience() > LevelCurve.MAX_EXPERIENCE) return true;
         if (player.getBirthday().getTime() < 0) return true;
 
         Calendar calendar = Calendar.getInstance();
@@ -157,14 +469,11 @@ public class PlayersService implements IPlayerService {
     }
 
     private int currentLevel(Player player) {
-        int exp = player.getExperience();
-        return (int) (Math.sqrt(2500 + 200 * exp) - 50) / 100;
+        return levelCurve.levelOf(player.getExperience());
     }
 
     private int expToNextLevel(Player player){
-        int lvl = player.getLevel();
-        int exp = player.getExperience();
-        return 50 * (lvl + 1) * (lvl + 2) - exp;
+        return levelCurve.untilNextLevel(player.getExperience());
     }
 
 }
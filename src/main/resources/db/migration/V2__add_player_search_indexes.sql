@@ -0,0 +1,12 @@
+-- PlayerOrder columns; the implicit primary key suffix also serves the (key, id) keyset seek
+CREATE INDEX idx_player_name ON player (name);
+CREATE INDEX idx_player_experience ON player (experience);
+CREATE INDEX idx_player_birthday ON player (birthday);
+CREATE INDEX idx_player_level ON player (level);
+
+-- categorical SearchFilter combinations, e.g. "banned DWARF CLERIC"
+CREATE INDEX idx_player_race_profession_banned ON player (race, profession, banned);
+
+-- frequent filter plus ordering pairs, e.g. "race=ELF order by LEVEL" and "all banned by level"
+CREATE INDEX idx_player_race_level ON player (race, level);
+CREATE INDEX idx_player_banned_level ON player (banned, level);
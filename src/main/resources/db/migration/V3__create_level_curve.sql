@@ -0,0 +1,6 @@
+-- id of the LevelCurve the stored level/untilNextLevel columns were computed with
+CREATE TABLE level_curve
+(
+    curve VARCHAR(100) NOT NULL
+);
+INSERT INTO level_curve (curve) VALUES ('quadratic:50');
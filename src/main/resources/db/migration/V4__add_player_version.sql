@@ -0,0 +1,2 @@
+-- optimistic lock counter behind Player.version and the player ETag
+ALTER TABLE player ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
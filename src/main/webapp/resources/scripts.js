@@ -1,7 +1,14 @@
+let changes = null;
+let shownPage = 1;
+let shownCount = 0;
+
 function loadContent(root, suffix, currentPage) {
 
-    let objects = JSON.parse(Get(root + "/rest/players" + suffix).responseText);
-    let playersCount = Get(root + "/rest/players/count" + suffix).responseText;
+    shownPage = currentPage;
+    let page = JSON.parse(Get(root + "/rest/players/page" + suffix).responseText);
+    let objects = page.items;
+    let playersCount = page.total;
+    shownCount = playersCount;
     document.getElementById("count").innerText = "Players found: " + playersCount;
     let table = document.getElementById("mainTable");
     table.innerHTML = "";
@@ -9,73 +16,123 @@ function loadContent(root, suffix, currentPage) {
 
     for (let i = 0; i < objects.length; i++) {
 
-        let tr = document.createElement("tr");
-        let th = document.createElement("th");
-        th.setAttribute("scope", "row");
-        th.appendChild(document.createTextNode(objects[i].id));
-        tr.appendChild(th);
-        let td1 = document.createElement("td");
-        td1.appendChild(document.createTextNode(objects[i].name));
-        tr.appendChild(td1);
-        let td2 = document.createElement("td");
-        td2.appendChild(document.createTextNode(objects[i].title));
-        tr.appendChild(td2);
-        let td3 = document.createElement("td");
-        let race = objects[i].race.charAt(0).toUpperCase() + objects[i].race.slice(1).toLowerCase();
-        td3.appendChild(document.createTextNode(race));
-        tr.appendChild(td3);
-        let td4 = document.createElement("td");
-        let profession = objects[i].profession.charAt(0).toUpperCase() + objects[i].profession.slice(1).toLowerCase();
-        td4.appendChild(document.createTextNode(profession));
-        tr.appendChild(td4);
-        let td5 = document.createElement("td");
-        td5.appendChild(document.createTextNode(objects[i].experience));
-        tr.appendChild(td5);
-        let td6 = document.createElement("td");
-        td6.appendChild(document.createTextNode(objects[i].level));
-        tr.appendChild(td6);
-        let td7 = document.createElement("td");
-        td7.appendChild(document.createTextNode(objects[i].untilNextLevel));
-        tr.appendChild(td7);
-        let td8 = document.createElement("td");
-        let birthday = new Date();
-        birthday.setTime(objects[i].birthday);
-        td8.appendChild(document.createTextNode(birthday.toDateString()));
-        tr.appendChild(td8);
-        let banned;
-        if (objects[i].banned) {
-            banned = "banned";
-        } else {
-            banned = "active";
-        }
-        let td9 = document.createElement("td");
-        td9.appendChild(document.createTextNode(banned));
-        tr.appendChild(td9);
-        let warButton = document.createElement("button");
-        warButton.setAttribute("type", "button");
-        warButton.setAttribute("class", "btn btn-warning btn-sm");
-        warButton.appendChild(document.createTextNode("Edit"));
-        warButton.addEventListener("click", function () {
-            editButtonClick(root, tr, objects[i].id)
-        });
-        let dangerButton = document.createElement("button");
-        dangerButton.setAttribute("type", "button");
-        dangerButton.setAttribute("class", "btn btn-danger btn-sm");
-        dangerButton.appendChild(document.createTextNode("Delete"));
-        dangerButton.addEventListener("click", function () {
-            processDelete(root, objects[i].id)
-        });
-        let td10 = document.createElement("td");
-        td10.appendChild(warButton);
-        tr.appendChild(td10);
-        let td11 = document.createElement("td");
-        td11.appendChild(dangerButton);
-        tr.appendChild(td11);
-        table.appendChild(tr);
+        table.appendChild(createPlayerRow(root, objects[i]));
     }
     window.scrollTo(500, 100);
 }
 
+function createPlayerRow(root, player) {
+    let tr = document.createElement("tr");
+    tr.setAttribute("id", "player" + player.id);
+    let th = document.createElement("th");
+    th.setAttribute("scope", "row");
+    th.appendChild(document.createTextNode(player.id));
+    tr.appendChild(th);
+    let td1 = document.createElement("td");
+    td1.appendChild(document.createTextNode(player.name));
+    tr.appendChild(td1);
+    let td2 = document.createElement("td");
+    td2.appendChild(document.createTextNode(player.title));
+    tr.appendChild(td2);
+    let td3 = document.createElement("td");
+    let race = player.race.charAt(0).toUpperCase() + player.race.slice(1).toLowerCase();
+    td3.appendChild(document.createTextNode(race));
+    tr.appendChild(td3);
+    let td4 = document.createElement("td");
+    let profession = player.profession.charAt(0).toUpperCase() + player.profession.slice(1).toLowerCase();
+    td4.appendChild(document.createTextNode(profession));
+    tr.appendChild(td4);
+    let td5 = document.createElement("td");
+    td5.appendChild(document.createTextNode(player.experience));
+    tr.appendChild(td5);
+    let td6 = document.createElement("td");
+    td6.appendChild(document.createTextNode(player.level));
+    tr.appendChild(td6);
+    let td7 = document.createElement("td");
+    td7.appendChild(document.createTextNode(player.untilNextLevel));
+    tr.appendChild(td7);
+    let td8 = document.createElement("td");
+    let birthday = new Date();
+    birthday.setTime(player.birthday);
+    td8.appendChild(document.createTextNode(birthday.toDateString()));
+    tr.appendChild(td8);
+    let banned;
+    if (player.banned) {
+        banned = "banned";
+    } else {
+        banned = "active";
+    }
+    let td9 = document.createElement("td");
+    td9.appendChild(document.createTextNode(banned));
+    tr.appendChild(td9);
+    let warButton = document.createElement("button");
+    warButton.setAttribute("type", "button");
+    warButton.setAttribute("class", "btn btn-warning btn-sm");
+    warButton.appendChild(document.createTextNode("Edit"));
+    warButton.addEventListener("click", function () {
+        editButtonClick(root, tr, player.id)
+    });
+    let dangerButton = document.createElement("button");
+    dangerButton.setAttribute("type", "button");
+    dangerButton.setAttribute("class", "btn btn-danger btn-sm");
+    dangerButton.appendChild(document.createTextNode("Delete"));
+    dangerButton.addEventListener("click", function () {
+        processDelete(root, player.id)
+    });
+    let td10 = document.createElement("td");
+    td10.appendChild(warButton);
+    tr.appendChild(td10);
+    let td11 = document.createElement("td");
+    td11.appendChild(dangerButton);
+    tr.appendChild(td11);
+    return tr;
+}
+
+function subscribeToChanges(root) {
+    if (!window.EventSource) {
+        return;
+    }
+    let connected = false;
+    changes = new EventSource(root + "/rest/players/stream");
+    changes.onopen = function () {
+        // events missed while reconnecting are only recovered by reloading
+        if (connected) {
+            processSearch(root, shownPage);
+        }
+        connected = true;
+    };
+    changes.addEventListener("updated", function (event) {
+        let player = JSON.parse(event.data).player;
+        let row = document.getElementById("player" + player.id);
+        if (row !== null) {
+            row.replaceWith(createPlayerRow(root, player));
+        }
+    });
+    changes.addEventListener("deleted", function (event) {
+        let id = JSON.parse(event.data).id;
+        let row = document.getElementById("player" + id);
+        if (row !== null) {
+            row.remove();
+            let updateRow = document.getElementById("update" + id);
+            if (updateRow !== null) {
+                updateRow.remove();
+            }
+            shownCount--;
+            document.getElementById("count").innerText = "Players found: " + shownCount;
+        }
+    });
+    changes.addEventListener("created", function () {
+        processSearch(root, shownPage);
+    });
+    changes.addEventListener("reload", function () {
+        processSearch(root, shownPage);
+    });
+}
+
+function receivesChanges() {
+    return changes !== null && changes.readyState === EventSource.OPEN;
+}
+
 function Get(requestUrl) {
     let Httpreq = new XMLHttpRequest(); // a new request
     Httpreq.open("GET", requestUrl, false);
@@ -370,7 +427,10 @@ function sendUpdate(root, id) {
     body.experience = document.getElementById("updateExperience" + id).value;
 
     post(root + "/rest/players/" + id, JSON.stringify(body));
-    loadContent(root, "", 1);
+    document.getElementById("update" + id).remove();
+    if (!receivesChanges()) {
+        loadContent(root, "", 1);
+    }
 }
 
 function clickCreate() {
@@ -411,12 +471,16 @@ function processCreate(root) {
 
     }
 
-    processSearch(root, 1);
+    if (!receivesChanges()) {
+        processSearch(root, 1);
+    }
 }
 
 function processDelete(root, id) {
     Delete(root + "/rest/players/" + id);
-    processSearch(root, 1);
+    if (!receivesChanges()) {
+        processSearch(root, 1);
+    }
 }
 
     
@@ -0,0 +1,109 @@
+package com.game.config;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DbExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final DbExecutor executor = new DbExecutor("test", 1, 1, 5_000,
+            new MockEnvironment().withProperty("executor.timeout-ms.slow", "50"));
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        executor.destroy();
+    }
+
+    //test1
+    @Test
+    public void runsTaskOnPool() throws Exception {
+        DeferredResult<ResponseEntity<String>> result = executor.submit("fast", () -> ResponseEntity.ok("done"));
+
+        assertEquals(HttpStatus.OK, awaitResult(result).getStatusCode());
+        assertEquals("done", awaitResult(result).getBody());
+    }
+
+    //test2
+    @Test
+    public void fullQueueAnswersServiceUnavailable() throws Exception {
+        executor.submit("fast", this::blocked);
+        executor.submit("fast", this::blocked);
+
+        DeferredResult<ResponseEntity<String>> rejected = executor.submit("fast", () -> ResponseEntity.ok("done"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, awaitResult(rejected).getStatusCode());
+        assertEquals(1, executor.getRejected());
+        assertEquals(1, executor.getQueueDepth());
+    }
+
+    //test3
+    @Test
+    public void endpointTimeoutInQueueAnswersServiceUnavailable() throws Exception {
+        AtomicBoolean ran = new AtomicBoolean();
+        executor.submit("fast", this::blocked);
+
+        DeferredResult<ResponseEntity<String>> result = executor.submit("slow", () -> {
+            ran.set(true);
+            return ResponseEntity.ok("done");
+        });
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, awaitResult(result).getStatusCode());
+        assertEquals(1, executor.getTimedOut());
+        release.countDown();
+        awaitIdle();
+        assertFalse("a task answered with 503 must never run", ran.get());
+    }
+
+    //test4
+    @Test
+    public void startedTaskOutlivesEndpointTimeout() throws Exception {
+        DeferredResult<ResponseEntity<String>> result = executor.submit("slow", this::blocked);
+
+        Thread.sleep(200);
+        assertFalse("a started task must not be answered by the timeout", result.hasResult());
+
+        release.countDown();
+        assertEquals(HttpStatus.OK, awaitResult(result).getStatusCode());
+        assertEquals("released", awaitResult(result).getBody());
+        assertEquals(0, executor.getTimedOut());
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((executor.getActiveThreads() > 0 || executor.getQueueDepth() > 0) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private ResponseEntity<String> blocked() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return ResponseEntity.ok("released");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ResponseEntity<String> awaitResult(DeferredResult<ResponseEntity<String>> result) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!result.hasResult() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue("no result within 5 seconds", result.hasResult());
+        return (ResponseEntity<String>) result.getResult();
+    }
+}
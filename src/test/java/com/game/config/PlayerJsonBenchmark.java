@@ -0,0 +1,82 @@
+package com.game.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.game.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link PlayerJsonModule} with the reflective field-visibility mapper on list pages of players.
+ * Run with {@code java -cp target/test-classes:<test classpath> org.openjdk.jmh.Main PlayerJsonBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PlayerJsonBenchmark {
+    private static final TypeReference<List<Player>> PLAYER_LIST = new TypeReference<List<Player>>() {
+    };
+
+    @Param({"1000"})
+    private int pageSize;
+
+    private final List<Player> page = new ArrayList<>();
+    private byte[] json;
+    private ObjectWriter reflectiveWriter;
+    private ObjectWriter handWrittenWriter;
+    private ObjectReader reflectiveReader;
+    private ObjectReader handWrittenReader;
+
+    @Setup
+    public void setup() throws Exception {
+        for (long id = 1; id <= pageSize; id++) {
+            page.add(PlayerJsonModuleTest.player(id, new Date(946684800000L + id * 86_400_000L)));
+        }
+        ObjectMapper reflective = WebConfig.configureVisibility(new ObjectMapper());
+        ObjectMapper handWritten = WebConfig.configureMapper(new ObjectMapper());
+        reflectiveWriter = reflective.writerFor(PLAYER_LIST);
+        handWrittenWriter = handWritten.writerFor(PLAYER_LIST);
+        reflectiveReader = reflective.readerFor(PLAYER_LIST);
+        handWrittenReader = handWritten.readerFor(PLAYER_LIST);
+        json = reflectiveWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] reflectiveWrite() throws Exception {
+        return reflectiveWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] handWrittenWrite() throws Exception {
+        return handWrittenWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public List<Player> reflectiveRead() throws Exception {
+        return reflectiveReader.readValue(json);
+    }
+
+    @Benchmark
+    public List<Player> handWrittenRead() throws Exception {
+        return handWrittenReader.readValue(json);
+    }
+}
@@ -0,0 +1,75 @@
+package com.game.config;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.entity.Player;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+import org.junit.Test;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class PlayerJsonModuleTest {
+
+    private final ObjectMapper reflective = WebConfig.configureVisibility(new ObjectMapper());
+    private final ObjectMapper handWritten = WebConfig.configureMapper(new ObjectMapper());
+
+    //test1
+    @Test
+    public void writesSameBytesAsReflectiveMapper() throws Exception {
+        List<Player> players = Arrays.asList(player(1L, new Date(1286841600000L)),
+                player(2L, new Timestamp(-86_400_000L)), new Player());
+        players.get(0).setName("Ниус \"Тихий\"\n");
+        players.get(0).setVersion(7L);
+
+        assertEquals(new String(reflective.writeValueAsBytes(players), "UTF-8"),
+                new String(handWritten.writeValueAsBytes(players), "UTF-8"));
+    }
+
+    //test2
+    @Test
+    public void readsWhatReflectiveMapperReads() throws Exception {
+        String json = "{\"id\":\"5\",\"name\":\"Ниус\",\"title\":null,\"race\":\"ELF\",\"profession\":\"WARRIOR\","
+                + "\"experience\":\"100\",\"level\":1,\"untilNextLevel\":2,\"birthday\":\"2010-10-12\","
+                + "\"banned\":\"true\",\"version\":3}";
+
+        Player expected = reflective.readValue(json, Player.class);
+        Player actual = handWritten.readValue(json, Player.class);
+
+        assertEquals(reflective.writeValueAsString(expected), handWritten.writeValueAsString(actual));
+        assertNull(actual.getVersion());
+    }
+
+    //test3
+    @Test(expected = JsonMappingException.class)
+    public void rejectsUnknownProperty() throws Exception {
+        handWritten.readValue("{\"name\":\"Ниус\",\"rank\":1}", Player.class);
+    }
+
+    //test4
+    @Test(expected = JsonMappingException.class)
+    public void rejectsUnknownEnumConstant() throws Exception {
+        handWritten.readValue("{\"race\":\"DRAGON\"}", Player.class);
+    }
+
+    static Player player(Long id, Date birthday) {
+        Player player = new Player();
+        player.setId(id);
+        player.setName("Player" + id);
+        player.setTitle("Title" + id);
+        player.setRace(Race.values()[(int) (id % Race.values().length)]);
+        player.setProfession(Profession.values()[(int) (id % Profession.values().length)]);
+        player.setExperience((int) (id * 997 % 10_000_000));
+        player.setLevel(player.getExperience() / 1_000);
+        player.setUntilNextLevel(1_000 - player.getExperience() % 1_000);
+        player.setBirthday(birthday);
+        player.setBanned(id % 2 == 0);
+        return player;
+    }
+}
@@ -0,0 +1,42 @@
+package com.game.config;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ActiveProfiles("dev")
+@ContextConfiguration(classes = {AppConfig.class, MyWebAppInit.class, WebConfig.class})
+@WebAppConfiguration
+public class SchemaMigrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    //test1
+    @Test
+    public void searchIndexesExist() {
+        List<String> indexes = new JdbcTemplate(dataSource).queryForList(
+                "SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_NAME = 'PLAYER'", String.class);
+        Set<String> actual = new HashSet<>(indexes);
+
+        for (String expected : Arrays.asList("IDX_PLAYER_NAME", "IDX_PLAYER_EXPERIENCE", "IDX_PLAYER_BIRTHDAY",
+                "IDX_PLAYER_LEVEL", "IDX_PLAYER_RACE_PROFESSION_BANNED", "IDX_PLAYER_RACE_LEVEL",
+                "IDX_PLAYER_BANNED_LEVEL")) {
+            assertTrue("Индекс " + expected + " не создан миграциями, найдены: " + actual, actual.contains(expected));
+        }
+    }
+}
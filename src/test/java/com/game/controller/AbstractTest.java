@@ -1,8 +1,13 @@
 package com.game.controller;
 
+import com.game.cache.PlayerCache;
+import com.game.cache.SearchResultCache;
 import com.game.config.AppConfig;
+import com.game.config.CompressionFilter;
 import com.game.config.MyWebAppInit;
+import com.game.config.TransferExecutor;
 import com.game.config.WebConfig;
+import com.game.controller.utils.AsyncMockMvc;
 import org.junit.Before;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,10 +17,11 @@ import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.jdbc.SqlConfig;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.test.context.web.WebAppConfiguration;
-import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.util.concurrent.CountDownLatch;
+
 @RunWith(SpringJUnit4ClassRunner.class)
 @ActiveProfiles("dev")
 @ContextConfiguration(classes = {AppConfig.class, MyWebAppInit.class, WebConfig.class})
@@ -24,7 +30,7 @@ import org.springframework.web.context.WebApplicationContext;
 public abstract class AbstractTest {
 
     WebApplicationContext context;
-    MockMvc mockMvc;
+    AsyncMockMvc mockMvc;
 
     @Autowired
     public void setContext(WebApplicationContext context) {
@@ -33,12 +39,34 @@ public abstract class AbstractTest {
 
     @Before
     public void setup() {
-        mockMvc = MockMvcBuilders
+        context.getBean(PlayerCache.class).invalidateAll();
+        context.getBean(SearchResultCache.class).invalidateAll();
+        mockMvc = new AsyncMockMvc(MockMvcBuilders
                 .webAppContextSetup(context)
                 .addFilter(((request, response, chain) -> {
                     response.setCharacterEncoding("UTF-8");
                     chain.doFilter(request, response);
                 }))
-                .build();
+                .addFilter(context.getBean(CompressionFilter.class))
+                .build());
+    }
+
+    /**
+     * Occupies every thread and queue slot of the transfer pool until the returned latch is released.
+     */
+    CountDownLatch occupyTransferPool() {
+        TransferExecutor transfer = context.getBean(TransferExecutor.class);
+        CountDownLatch release = new CountDownLatch(1);
+        // an idle thread may still take a queued task, so the queue is only full for good once every thread is busy
+        while (!transfer.isFull() || transfer.getActiveCount() < transfer.getMaxPoolSize()) {
+            transfer.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        return release;
     }
 }
@@ -0,0 +1,55 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.controller.utils.PlayerInfoTest;
+import com.game.controller.utils.TestsHelper;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class BatchCreatePlayerTest extends AbstractTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    //test1
+    @Test
+    public void createPlayersReturnsStatusPerItem() throws Exception {
+        String body = "[" + TestsHelper.NORMAL_JSON + "," + TestsHelper.TOO_BIG_EXPERIENCE_JSON + ","
+                + TestsHelper.BANNED_TRUE_JSON + "]";
+
+        MvcResult result = mockMvc.perform(post("/rest/players/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode statuses = mapper.readTree(result.getResponse().getContentAsString());
+
+        assertEquals("Не правильный статус первого игрока при запросе POST /rest/players/batch.", 200, statuses.get(0).get("status").asInt());
+        assertEquals("Не правильный статус второго игрока при запросе POST /rest/players/batch.", 400, statuses.get(1).get("status").asInt());
+        assertEquals("Не правильный статус третьего игрока при запросе POST /rest/players/batch.", 200, statuses.get(2).get("status").asInt());
+
+        long id = statuses.get(2).get("id").asLong();
+        MvcResult created = mockMvc.perform(get("/rest/players/" + id))
+                .andExpect(status().isOk())
+                .andReturn();
+        PlayerInfoTest actual = mapper.readValue(created.getResponse().getContentAsString(), PlayerInfoTest.class);
+
+        assertEquals("Не правильно сохранен игрок при запросе POST /rest/players/batch.", true, actual.banned);
+        assertEquals("Не правильно рассчитан уровень при запросе POST /rest/players/batch.", 35, actual.level);
+    }
+
+    //test2
+    @Test
+    public void createPlayersEmptyListTest() throws Exception {
+        mockMvc.perform(post("/rest/players/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+}
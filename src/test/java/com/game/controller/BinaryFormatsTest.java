@@ -0,0 +1,137 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.game.controller.utils.PlayerInfoTest;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class BinaryFormatsTest extends AbstractTest {
+    private static final String SMILE = "application/x-jackson-smile";
+    private static final String CBOR = "application/cbor";
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final ObjectMapper smile = new ObjectMapper(new SmileFactory());
+    private final ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+
+    //test1
+    @Test
+    public void getPlayerAsSmileTest() throws Exception {
+        MvcResult result = mockMvc.perform(get("/rest/players/1").header(HttpHeaders.ACCEPT, SMILE))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertTrue("Не тот Content-Type при запросе GET /rest/players/1 в Smile: " + result.getResponse().getContentType(),
+                result.getResponse().getContentType().startsWith(SMILE));
+        PlayerInfoTest actual = smile.readValue(result.getResponse().getContentAsByteArray(), PlayerInfoTest.class);
+        assertEquals("Игрок в Smile отличается от JSON.", jsonPlayer("/rest/players/1"), actual);
+    }
+
+    //test2
+    @Test
+    public void getPlayersAsCborTest() throws Exception {
+        MvcResult result = mockMvc.perform(get("/rest/players?pageSize=5").header(HttpHeaders.ACCEPT, CBOR))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        List<PlayerInfoTest> actual = Arrays.asList(cbor.readValue(result.getResponse().getContentAsByteArray(), PlayerInfoTest[].class));
+        List<PlayerInfoTest> expected = Arrays.asList(json.readValue(mockMvc.perform(get("/rest/players?pageSize=5"))
+                .andReturn().getResponse().getContentAsString(), PlayerInfoTest[].class));
+        assertEquals("Список игроков в CBOR отличается от JSON.", expected, actual);
+    }
+
+    //test3
+    @Test
+    public void jsonStaysDefaultTest() throws Exception {
+        MvcResult browser = mockMvc.perform(get("/rest/players/1")
+                .header(HttpHeaders.ACCEPT, "application/json, text/javascript, */*; q=0.01"))
+                .andExpect(status().isOk())
+                .andReturn();
+        MvcResult any = mockMvc.perform(get("/rest/players/count").header(HttpHeaders.ACCEPT, "*/*"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertTrue("Браузер получил не JSON.", browser.getResponse().getContentType().startsWith(MediaType.APPLICATION_JSON_VALUE));
+        assertTrue("Accept */* получил не JSON.", any.getResponse().getContentType().startsWith(MediaType.APPLICATION_JSON_VALUE));
+    }
+
+    //test4
+    @Test
+    public void createPlayerFromSmileTest() throws Exception {
+        JsonNode body = json.readTree("{\"name\":\"Амарфиэль\",\"title\":\"Из Лесного народа\",\"race\":\"ELF\","
+                + "\"profession\":\"DRUID\",\"birthday\":988059506545,\"experience\":63986}");
+
+        MvcResult result = mockMvc.perform(post("/rest/players")
+                .contentType(SMILE)
+                .header(HttpHeaders.ACCEPT, CBOR)
+                .content(smile.writeValueAsBytes(body)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        PlayerInfoTest created = cbor.readValue(result.getResponse().getContentAsByteArray(), PlayerInfoTest.class);
+        assertEquals("Не тот игрок создан из Smile.", jsonPlayer("/rest/players/41"), created);
+    }
+
+    //test5
+    @Test
+    public void exportAndImportSmileTest() throws Exception {
+        byte[] dump = mockMvc.perform(get("/rest/players/export?format=smile&race=ELF"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<PlayerInfoTest> exported = new ArrayList<>();
+        try (MappingIterator<PlayerInfoTest> players = smile.readerFor(PlayerInfoTest.class).readValues(dump)) {
+            players.forEachRemaining(exported::add);
+        }
+        String elves = mockMvc.perform(get("/rest/players/count?race=ELF")).andReturn().getResponse().getContentAsString();
+        assertEquals("Не правильное количество игроков в экспорте Smile.", Integer.parseInt(elves), exported.size());
+
+        JsonNode summary = json.readTree(mockMvc.perform(post("/rest/players/import?format=smile").content(dump))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        assertEquals("Не все записи Smile приняты при импорте.", (long) exported.size(), summary.get("accepted").asLong());
+    }
+
+    //test6
+    @Test
+    public void importCutSmileIsTruncatedTest() throws Exception {
+        byte[] dump = mockMvc.perform(get("/rest/players/export?format=smile&race=ELF"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        List<PlayerInfoTest> exported = new ArrayList<>();
+        try (MappingIterator<PlayerInfoTest> players = smile.readerFor(PlayerInfoTest.class).readValues(dump)) {
+            players.forEachRemaining(exported::add);
+        }
+
+        // cuts the last record in half
+        byte[] cut = Arrays.copyOf(dump, dump.length - 10);
+        JsonNode summary = json.readTree(mockMvc.perform(post("/rest/players/import?format=smile").content(cut))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        assertEquals("Не правильное количество принятых записей из оборванного Smile.", (long) exported.size() - 1, summary.get("accepted").asLong());
+        assertEquals("Не правильный номер оборванной записи Smile.", "[" + exported.size() + "]", summary.get("rejectedLines").toString());
+        assertTrue("Оборванный Smile должен помечаться как truncated.", summary.get("truncated").asBoolean());
+    }
+
+    private PlayerInfoTest jsonPlayer(String url) throws Exception {
+        return json.readValue(mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), PlayerInfoTest.class);
+    }
+}
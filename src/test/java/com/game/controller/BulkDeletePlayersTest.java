@@ -0,0 +1,75 @@
+package com.game.controller;
+
+import com.game.controller.utils.TestsHelper;
+import com.game.entity.Race;
+import org.junit.Test;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class BulkDeletePlayersTest extends AbstractTest {
+
+    private final TestsHelper testsHelper = new TestsHelper();
+
+    //test1
+    @Test
+    public void dryRunOnlyCountsPlayersTest() throws Exception {
+        int elves = testsHelper.getPlayerInfosByRace(Race.ELF, testsHelper.getAllPlayers()).size();
+
+        MvcResult result = mockMvc.perform(delete("/rest/players?race=ELF&dryRun=true"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals("Не правильное количество игроков при запросе DELETE /rest/players?dryRun=true.", String.valueOf(elves), result.getResponse().getContentAsString());
+        assertEquals("Игроки удалены при запросе DELETE /rest/players?dryRun=true.", "40", count(""));
+    }
+
+    //test2
+    @Test
+    public void deletePlayersByFilterTest() throws Exception {
+        int elves = testsHelper.getPlayerInfosByRace(Race.ELF, testsHelper.getAllPlayers()).size();
+        mockMvc.perform(get("/rest/players/6")).andExpect(status().isOk());
+
+        MvcResult result = mockMvc.perform(delete("/rest/players?race=ELF"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals("Не правильное количество удаленных игроков при запросе DELETE /rest/players.", String.valueOf(elves), result.getResponse().getContentAsString());
+        assertEquals("Не удалены игроки при запросе DELETE /rest/players.", "0", count("?race=ELF"));
+        assertEquals("Удалены лишние игроки при запросе DELETE /rest/players.", String.valueOf(40 - elves), count(""));
+        mockMvc.perform(get("/rest/players/6")).andExpect(status().isNotFound());
+    }
+
+    //test3
+    @Test
+    public void deletePlayersWithoutFilterTest() throws Exception {
+        mockMvc.perform(delete("/rest/players"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(delete("/rest/players?name="))
+                .andExpect(status().isBadRequest());
+    }
+
+    //test4
+    @Test
+    public void bulkDeleteHasNoAsyncTimeoutTest() throws Exception {
+        MvcResult result = MockMvcBuilders.webAppContextSetup(context).build()
+                .perform(delete("/rest/players?race=ELF"))
+                .andReturn();
+
+        assertTrue("Удаление должно выполняться асинхронно.", result.getRequest().isAsyncStarted());
+        assertTrue("Начатое удаление не должен обрывать таймаут асинхронного запроса контейнера.",
+                result.getRequest().getAsyncContext().getTimeout() <= 0);
+        result.getAsyncResult();
+    }
+
+    private String count(String query) throws Exception {
+        return mockMvc.perform(get("/rest/players/count" + query))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
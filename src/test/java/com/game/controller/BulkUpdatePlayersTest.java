@@ -0,0 +1,76 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.controller.utils.PlayerInfoTest;
+import com.game.controller.utils.TestsHelper;
+import com.game.entity.Race;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class BulkUpdatePlayersTest extends AbstractTest {
+
+    private final TestsHelper testsHelper = new TestsHelper();
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    //test1
+    @Test
+    public void updatePlayersByIdsRecalculatesLevel() throws Exception {
+        MvcResult result = mockMvc.perform(patch("/rest/players?ids=1,2,3")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"banned\": true, \"experience\": 63986}"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals("Не правильное количество обновленных игроков при запросе PATCH /rest/players.", "3", result.getResponse().getContentAsString());
+
+        PlayerInfoTest actual = getPlayer(2);
+        assertEquals("Не обновлен banned при запросе PATCH /rest/players.", true, actual.banned);
+        assertEquals("Не пересчитан уровень при запросе PATCH /rest/players.", 35, actual.level);
+        assertEquals("Не пересчитан опыт до следующего уровня при запросе PATCH /rest/players.", 2614, actual.untilNextLevel);
+    }
+
+    //test2
+    @Test
+    public void updatePlayersByFilter() throws Exception {
+        int elves = testsHelper.getPlayerInfosByRace(Race.ELF, testsHelper.getAllPlayers()).size();
+
+        MvcResult result = mockMvc.perform(patch("/rest/players?race=ELF")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Гильдия\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals("Не правильное количество обновленных игроков при запросе PATCH /rest/players.", String.valueOf(elves), result.getResponse().getContentAsString());
+        assertEquals("Не обновлен title при запросе PATCH /rest/players.", "Гильдия", getPlayer(6).title);
+    }
+
+    //test3
+    @Test
+    public void updatePlayersWithoutSelectorOrWithWrongPatchTest() throws Exception {
+        mockMvc.perform(patch("/rest/players")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"banned\": true}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/rest/players?ids=1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/rest/players?ids=1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"experience\": -2}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private PlayerInfoTest getPlayer(long id) throws Exception {
+        MvcResult result = mockMvc.perform(get("/rest/players/" + id))
+                .andExpect(status().isOk())
+                .andReturn();
+        return mapper.readValue(result.getResponse().getContentAsString(), PlayerInfoTest.class);
+    }
+}
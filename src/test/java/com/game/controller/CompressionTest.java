@@ -0,0 +1,225 @@
+package com.game.controller;
+
+import com.game.config.CompressionFilter;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertNotNull;
+import static org.springframework.test.util.AssertionErrors.assertNull;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class CompressionTest extends AbstractTest {
+    private static final String LARGE_BODY = String.join(",", Collections.nCopies(64, "{\"name\":\"Ниус\"}"));
+
+    //test1
+    @Test
+    public void largeListGzippedTest() throws Exception {
+        String expected = plain("/rest/players?pageSize=40");
+
+        MockHttpServletResponse response = compressed("/rest/players?pageSize=40", "deflate, gzip");
+
+        assertEquals("Большой список должен сжиматься gzip.", "gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("Ответ должен содержать Vary: Accept-Encoding.", HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        assertNull("Сжатый ответ не должен содержать Content-Length исходного тела.", response.getHeader(HttpHeaders.CONTENT_LENGTH));
+        assertEquals("Распакованный ответ отличается от несжатого.", expected,
+                decode(new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))));
+    }
+
+    //test2
+    @Test
+    public void deflateWhenGzipRefusedTest() throws Exception {
+        String expected = plain("/rest/players?pageSize=40");
+
+        MockHttpServletResponse response = compressed("/rest/players?pageSize=40", "gzip;q=0, deflate");
+
+        assertEquals("Ответ должен сжиматься deflate, если gzip не принимается.", "deflate", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("Распакованный ответ отличается от несжатого.", expected,
+                decode(new InflaterInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))));
+    }
+
+    //test3
+    @Test
+    public void smallResponseNotCompressedTest() throws Exception {
+        String expected = plain("/rest/players/5");
+
+        MockHttpServletResponse response = compressed("/rest/players/5", "gzip");
+
+        assertNull("Ответ меньше порога не должен сжиматься.", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("Ответ меньше порога отличается от несжатого.", expected, response.getContentAsString());
+        assertEquals("Несжатый ответ тоже должен содержать Vary: Accept-Encoding.", HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        assertTrue("Несжатый ответ должен сохранять сильный ETag: " + response.getHeader(HttpHeaders.ETAG),
+                response.getHeader(HttpHeaders.ETAG).startsWith("\""));
+    }
+
+    //test4
+    @Test
+    public void notCompressedWithoutAcceptEncodingTest() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/rest/players?pageSize=40"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertNull("Ответ не должен сжиматься без Accept-Encoding.", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("Ответ без Accept-Encoding тоже должен содержать Vary: Accept-Encoding.", HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+    }
+
+    //test5
+    @Test
+    public void streamingExportGzippedTest() throws Exception {
+        String expected = plain("/rest/players/export");
+
+        MockHttpServletResponse response = compressed("/rest/players/export", "gzip");
+
+        assertEquals("Выгрузка должна сжиматься gzip.", "gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("Распакованная выгрузка отличается от несжатой.", expected,
+                decode(new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))));
+    }
+
+    //test6
+    @Test
+    public void fingerprintedResourceCachedTest() throws Exception {
+        String url = context.getBean(ResourceUrlProvider.class).getForLookupPath("/resources/scripts.js");
+        assertNotNull("Не найден URL ресурса /resources/scripts.js.", url);
+        assertTrue("URL ресурса должен содержать хеш содержимого: " + url, url.matches("/resources/scripts-[0-9a-f]{32}\\.js"));
+
+        MockHttpServletResponse response = mockMvc.perform(get(url).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        String cacheControl = response.getHeader(HttpHeaders.CACHE_CONTROL);
+        assertNotNull("Ресурс должен отдаваться с Cache-Control.", cacheControl);
+        assertTrue("Ресурс должен кешироваться на год: " + cacheControl, cacheControl.contains("max-age=31536000"));
+        assertEquals("Ресурс должен отдаваться сжатым.", "gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("Распакованный ресурс отличается от файла.",
+                new String(Files.readAllBytes(Paths.get("src/main/webapp/resources/scripts.js")), StandardCharsets.UTF_8),
+                decode(new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))));
+    }
+
+    //test7
+    @Test
+    public void compressedBodyWeakensStrongETagTest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/rest/players/1");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new CompressionFilter(16).doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                resp.setHeader(HttpHeaders.ETAG, "\"1-0\"");
+                resp.getOutputStream().write(LARGE_BODY.getBytes(StandardCharsets.UTF_8));
+            }
+        }));
+
+        assertEquals("Ответ должен сжиматься gzip.", "gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("Сжатый ответ должен отдавать слабый ETag.", "W/\"1-0\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals("Распакованный ответ отличается от исходного.", LARGE_BODY,
+                decode(new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))));
+    }
+
+    //test8
+    @Test
+    public void writeListenerDelegatedWithoutCompressionTest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/rest/players/1");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ListeningOutputStream container = new ListeningOutputStream(response.getOutputStream());
+        WriteListener listener = new WriteListener() {
+            @Override
+            public void onWritePossible() {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+        };
+
+        new CompressionFilter(16).doFilter(request, new HttpServletResponseWrapper(response) {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return container;
+            }
+        }, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                ServletOutputStream out = resp.getOutputStream();
+                out.setWriteListener(listener);
+                assertTrue("isReady должен спрашивать поток контейнера.", out.isReady());
+                out.write(LARGE_BODY.getBytes(StandardCharsets.UTF_8));
+            }
+        }));
+
+        assertTrue("WriteListener должен передаваться потоку контейнера.", container.writeListener == listener);
+        assertNull("Неблокирующий ответ не должен сжиматься.", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("Неблокирующий ответ отличается от исходного.", LARGE_BODY,
+                decode(new ByteArrayInputStream(response.getContentAsByteArray())));
+    }
+
+    private String plain(String url) throws Exception {
+        return mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private MockHttpServletResponse compressed(String url, String acceptEncoding) throws Exception {
+        return mockMvc.perform(get(url).header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+    }
+
+    private static String decode(InputStream in) throws IOException {
+        try (InputStream stream = in) {
+            return StreamUtils.copyToString(stream, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static class ListeningOutputStream extends ServletOutputStream {
+        private final OutputStream out;
+        private WriteListener writeListener;
+
+        ListeningOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+        }
+
+        @Override
+        public boolean isReady() {
+            return writeListener != null;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            this.writeListener = writeListener;
+        }
+    }
+}
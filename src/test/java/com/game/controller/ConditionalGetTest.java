@@ -0,0 +1,75 @@
+package com.game.controller;
+
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertNotNull;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class ConditionalGetTest extends AbstractTest {
+
+    //test1
+    @Test
+    public void playerNotModifiedTest() throws Exception {
+        String etag = etagOf("/rest/players/5");
+        assertTrue("ETag игрока должен быть строгим.", !etag.startsWith("W/"));
+
+        MvcResult result = mockMvc.perform(get("/rest/players/5").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+
+        assertEquals("Тело ответа 304 должно быть пустым.", "", result.getResponse().getContentAsString());
+        assertEquals("Ответ 304 должен содержать ETag.", etag, result.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    //test2
+    @Test
+    public void playerETagChangesAfterUpdateTest() throws Exception {
+        String etag = etagOf("/rest/players/5");
+
+        mockMvc.perform(post("/rest/players/5")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Renamed title\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/rest/players/5").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        assertTrue("ETag игрока не изменился после обновления.", !etag.equals(etagOf("/rest/players/5")));
+    }
+
+    //test3
+    @Test
+    public void listAndCountNotModifiedUntilWriteTest() throws Exception {
+        String listETag = etagOf("/rest/players?race=ELF");
+        String countETag = etagOf("/rest/players/count?race=ELF");
+
+        mockMvc.perform(get("/rest/players?race=ELF").header(HttpHeaders.IF_NONE_MATCH, "\"other\", " + listETag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/rest/players/count?race=ELF").header(HttpHeaders.IF_NONE_MATCH, countETag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(post("/rest/players/7")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Renamed\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/rest/players?race=ELF").header(HttpHeaders.IF_NONE_MATCH, listETag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/rest/players/count?race=ELF").header(HttpHeaders.IF_NONE_MATCH, countETag))
+                .andExpect(status().isOk());
+    }
+
+    private String etagOf(String url) throws Exception {
+        String etag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull("Нет заголовка ETag при запросе GET " + url, etag);
+        return etag;
+    }
+}
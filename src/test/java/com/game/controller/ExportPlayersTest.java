@@ -0,0 +1,130 @@
+package com.game.controller;
+
+import com.game.controller.utils.TestsHelper;
+import com.game.entity.Player;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertNull;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class ExportPlayersTest extends AbstractTest {
+
+    private final TestsHelper testsHelper = new TestsHelper();
+
+    //test1
+    @Test
+    public void exportNdjsonTest() throws Exception {
+        String[] lines = export("").split("\n");
+
+        assertEquals("Не все игроки выгружены при запросе GET /rest/players/export.", 40, lines.length);
+        String expected = mockMvc.perform(get("/rest/players/1"))
+                .andReturn().getResponse().getContentAsString();
+        assertEquals("Строка выгрузки отличается от GET /rest/players/{id}.", expected, lines[0]);
+    }
+
+    //test2
+    @Test
+    public void exportCsvWithFilterTest() throws Exception {
+        int elves = testsHelper.getPlayerInfosByRace(Race.ELF, testsHelper.getAllPlayers()).size();
+
+        String[] lines = export("?format=csv&race=ELF").split("\n");
+
+        assertEquals("Не правильный заголовок CSV при запросе GET /rest/players/export?format=csv.",
+                "id,name,title,race,profession,birthday,banned,experience,level,untilNextLevel", lines[0]);
+        assertEquals("Не правильное количество строк при запросе GET /rest/players/export?format=csv.", elves + 1, lines.length);
+        for (int i = 1; i < lines.length; i++) {
+            assertEquals("Выгружен игрок не той расы при запросе GET /rest/players/export?format=csv&race=ELF.", "ELF", lines[i].split(",")[3]);
+        }
+    }
+
+    //test3
+    @Test
+    public void exportWithWrongFormatTest() throws Exception {
+        mockMvc.perform(get("/rest/players/export?format=xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    //test4
+    @Test
+    public void exportFlushesOnlyWhenFinished() throws Exception {
+        for (PlayerFileFormat format : PlayerFileFormat.values()) {
+            AtomicInteger flushes = new AtomicInteger();
+            OutputStream out = new ByteArrayOutputStream() {
+                @Override
+                public void flush() {
+                    flushes.incrementAndGet();
+                }
+            };
+
+            PlayerExportWriter writer = PlayerExportWriter.of(format, out);
+            Player player = new Player();
+            player.setId(1L);
+            player.setName("Ниус");
+            player.setTitle("Приходящий Без Шума");
+            player.setRace(Race.HOBBIT);
+            player.setProfession(Profession.ROGUE);
+            player.setBirthday(new Date(1286841600000L));
+            player.setBanned(false);
+            player.setExperience(58347);
+            player.setLevel(33);
+            player.setUntilNextLevel(1153);
+            for (int i = 0; i < 1000; i++) {
+                writer.write(player);
+            }
+            assertEquals("Выгрузка в формате " + format + " не должна сбрасывать поток после каждой строки.", 0, flushes.get());
+
+            writer.finish();
+            assertEquals("Выгрузка в формате " + format + " должна сбрасывать поток при завершении.", 1, flushes.get());
+        }
+    }
+
+    //test5
+    @Test
+    public void exportHasNoAsyncTimeoutTest() throws Exception {
+        MvcResult result = MockMvcBuilders.webAppContextSetup(context).build()
+                .perform(get("/rest/players/export"))
+                .andReturn();
+
+        assertTrue("Выгрузка должна выполняться асинхронно.", result.getRequest().isAsyncStarted());
+        assertTrue("Выгрузку не должен обрывать таймаут асинхронного запроса контейнера.",
+                result.getRequest().getAsyncContext().getTimeout() <= 0);
+        result.getAsyncResult();
+    }
+
+    //test6
+    @Test
+    public void exportRejectedWhenTransferPoolFullTest() throws Exception {
+        CountDownLatch release = occupyTransferPool();
+        try {
+            MockHttpServletResponse response = mockMvc.perform(get("/rest/players/export"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andReturn().getResponse();
+
+            assertEquals("Отказ в выгрузке должен содержать Retry-After.", "1", response.getHeader(HttpHeaders.RETRY_AFTER));
+            assertNull("Отказ в выгрузке не должен содержать заголовков выгрузки.", response.getHeader(HttpHeaders.CONTENT_DISPOSITION));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private String export(String query) throws Exception {
+        return mockMvc.perform(get("/rest/players/export" + query))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
@@ -0,0 +1,59 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.controller.utils.PlayerInfoTest;
+import org.junit.Test;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class GetAllByCursorTest extends AbstractTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final TypeReference<List<PlayerInfoTest>> typeReference = new TypeReference<List<PlayerInfoTest>>() {
+    };
+
+    //test1
+    @Test
+    public void getAllByCursorReturnsSameRowsAsPagesForEveryOrder() throws Exception {
+        for (PlayerOrder order : PlayerOrder.values()) {
+            String filter = "?banned=false&order=" + order.name();
+            List<PlayerInfoTest> expected = read(mockMvc.perform(get("/rest/players" + filter + "&pageSize=100"))
+                    .andExpect(status().isOk())
+                    .andReturn());
+
+            List<PlayerInfoTest> actual = new ArrayList<>();
+            String cursor = "";
+            while (cursor != null) {
+                MvcResult result = mockMvc.perform(get("/rest/players" + filter + "&pageSize=7&cursor=" + cursor))
+                        .andExpect(status().isOk())
+                        .andReturn();
+                actual.addAll(read(result));
+                cursor = result.getResponse().getHeader(PlayerController.NEXT_CURSOR_HEADER);
+            }
+
+            assertEquals("Возвращается не правильный результат при запросе GET /rest/players с параметрами cursor и order=" + order + ".", expected, actual);
+        }
+    }
+
+    //test2
+    @Test
+    public void getAllByCursorWithWrongCursorReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/rest/players?cursor=not-a-cursor"))
+                .andExpect(status().isBadRequest());
+
+        String cursor = PlayerCursor.first(PlayerOrder.NAME).encode();
+        mockMvc.perform(get("/rest/players?order=LEVEL&cursor=" + cursor))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<PlayerInfoTest> read(MvcResult result) throws Exception {
+        return mapper.readValue(result.getResponse().getContentAsString(), typeReference);
+    }
+}
@@ -8,6 +8,7 @@ import com.game.controller.utils.PlayerInfoTest;
 import com.game.controller.utils.TestsHelper;
 import org.junit.Test;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
@@ -172,4 +173,57 @@ public class GetAllTest extends AbstractTest {
 
         assertEquals("Возвращается не правильный результат при запросе GET /rest/players с параметрами after, before, minExperience и maxExperience.", expected, actual);
     }
-}
\ No newline at end of file
+
+    //test9
+    @Test
+    public void getAllWithPageSizeAboveMaximumIsLimited() throws Exception {
+        // 40 players from test.sql plus two copies, so more rows match than players.page.max-size allows
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        for (int i = 0; i < 2; i++) {
+            jdbcTemplate.update("INSERT INTO player(name, title, race, profession, birthday, banned, experience, level, untilNextLevel) "
+                    + "SELECT name, title, race, profession, birthday, banned, experience, level, untilNextLevel FROM player");
+        }
+
+        ResultActions resultActions = mockMvc.perform(get("/rest/players?pageSize=1000"))
+                .andExpect(status().isOk());
+
+        MvcResult result = resultActions.andReturn();
+        String contentAsString = result.getResponse().getContentAsString();
+
+        List<PlayerInfoTest> actual = mapper.readValue(contentAsString, typeReference);
+        assertEquals("Возвращается не правильное количество игроков при запросе GET /rest/players с параметром pageSize больше максимального.",
+                100, actual.size());
+        assertEquals("Возвращается не правильный результат при запросе GET /rest/players с параметром pageSize больше максимального.",
+                testsHelper.getPlayerInfosByPage(0, 40, testsHelper.getAllPlayers()), actual.subList(0, 40));
+        for (int i = 0; i < actual.size(); i++) {
+            assertEquals("Игроки не отсортированы по id при запросе GET /rest/players с параметром pageSize больше максимального.",
+                    (long) (i + 1), actual.get(i).id);
+        }
+    }
+
+    //test10
+    @Test
+    public void getAllWithWrongPageReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/rest/players?pageSize=0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/rest/players?pageNumber=-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    //test11
+    @Test
+    public void getAllWithFilterTitleIsCaseSensitive() throws Exception {
+        List<PlayerInfoTest> exactCase = mapper.readValue(mockMvc.perform(get("/rest/players?title=Вульф"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), typeReference);
+        List<PlayerInfoTest> otherCase = mapper.readValue(mockMvc.perform(get("/rest/players?title=вульф"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), typeReference);
+
+        assertEquals("Возвращается не правильный результат при запросе GET /rest/players с параметром title в исходном регистре.",
+                testsHelper.getPlayerInfosByTitle("Вульф", testsHelper.getAllPlayers()), exactCase);
+        assertEquals("Фильтр title не должен игнорировать регистр при запросе GET /rest/players.",
+                testsHelper.getPlayerInfosByTitle("вульф", testsHelper.getAllPlayers()), otherCase);
+        assertEquals("Фильтр title не должен игнорировать регистр при запросе GET /rest/players.", 0, otherCase.size());
+    }
+}
@@ -0,0 +1,49 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.controller.utils.PlayerInfoTest;
+import org.junit.Test;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class GetCountMatchesListTest extends AbstractTest {
+
+    private static final String[] FILTERS = {
+            "",
+            "minLevel=42&minExperience=94000",
+            "name=ри&after=1104530400000&maxLevel=40",
+            "race=DWARF&profession=CLERIC&banned=true",
+            "race=TROLL&profession=WARRIOR&maxExperience=120000",
+            "title=ий",
+            "race=GIANT&profession=WARRIOR&before=1199138400000",
+            "banned=false"
+    };
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final TypeReference<List<PlayerInfoTest>> typeReference = new TypeReference<List<PlayerInfoTest>>() {
+    };
+
+    //test1
+    @Test
+    public void getCountEqualsFilteredListSize() throws Exception {
+        for (String filter : FILTERS) {
+            MvcResult count = mockMvc.perform(get("/rest/players/count?" + filter))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            MvcResult list = mockMvc.perform(get("/rest/players?pageSize=100&" + filter))
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            int actual = Integer.parseInt(count.getResponse().getContentAsString());
+            List<PlayerInfoTest> players = mapper.readValue(list.getResponse().getContentAsString(), typeReference);
+
+            assertEquals("Количество игроков по GET /rest/players/count?" + filter + " не совпадает с размером списка.", players.size(), actual);
+        }
+    }
+}
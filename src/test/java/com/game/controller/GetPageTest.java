@@ -0,0 +1,41 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.controller.utils.PlayerInfoTest;
+import com.game.controller.utils.TestsHelper;
+import com.game.entity.Race;
+import org.junit.Test;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class GetPageTest extends AbstractTest {
+
+    private final TestsHelper testsHelper = new TestsHelper();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final TypeReference<List<PlayerInfoTest>> typeReference = new TypeReference<List<PlayerInfoTest>>() {
+    };
+
+    //test1
+    @Test
+    public void getPageReturnsItemsAndTotal() throws Exception {
+        MvcResult result = mockMvc.perform(get("/rest/players/page?race=ELF&pageNumber=1&pageSize=4"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode page = mapper.readTree(result.getResponse().getContentAsString());
+        List<PlayerInfoTest> elves = testsHelper.getPlayerInfosByRace(Race.ELF, testsHelper.getAllPlayers());
+        List<PlayerInfoTest> items = mapper.readValue(mapper.treeAsTokens(page.get("items")), typeReference);
+
+        assertEquals("Возвращается не правильный список при запросе GET /rest/players/page.", testsHelper.getPlayerInfosByPage(1, 4, elves), items);
+        assertEquals("Возвращается не правильное количество при запросе GET /rest/players/page.", (long) elves.size(), page.get("total").asLong());
+        assertEquals("Возвращается не правильный номер страницы при запросе GET /rest/players/page.", 1, page.get("pageNumber").asInt());
+        assertEquals("Возвращается не правильный размер страницы при запросе GET /rest/players/page.", 4, page.get("pageSize").asInt());
+    }
+}
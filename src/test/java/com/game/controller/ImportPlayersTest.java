@@ -0,0 +1,156 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class ImportPlayersTest extends AbstractTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    //test1
+    @Test
+    public void importNdjsonTest() throws Exception {
+        String dump = "{\"name\":\"Амарфиэль\",\"title\":\"Из Лесного народа\",\"race\":\"ELF\",\"profession\":\"DRUID\",\"birthday\":988059506545,\"experience\":63986}\n"
+                + "{\"name\":\"\",\"title\":\"Без имени\",\"race\":\"ELF\",\"profession\":\"DRUID\",\"birthday\":988059506545,\"experience\":1}\n"
+                + "{\"name\":\"Орк\",\"title\":\"Громила\",\"race\":\"ORC\",\"profession\":\"WARRIOR\",\"birthday\":988059506545,\"experience\":10,\"banned\":true}\n"
+                + "{\"name\":\"Тролль\",\"title\":\"Раса\",\"race\":\"DRAGON\",\"profession\":\"WARRIOR\",\"birthday\":988059506545,\"experience\":10}\n";
+
+        JsonNode summary = importDump("ndjson", dump);
+
+        assertEquals("Не правильное количество принятых записей при запросе POST /rest/players/import.", 2L, summary.get("accepted").asLong());
+        assertEquals("Не правильное количество отклоненных записей при запросе POST /rest/players/import.", 2L, summary.get("rejected").asLong());
+        assertEquals("Не правильные номера строк при запросе POST /rest/players/import.", "[2,4]", summary.get("rejectedLines").toString());
+
+        JsonNode imported = mapper.readTree(mockMvc.perform(get("/rest/players/41"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        assertEquals("Не рассчитан уровень при запросе POST /rest/players/import.", 35, imported.get("level").asInt());
+        assertEquals("Не правильное количество игроков после POST /rest/players/import.", "42", count());
+    }
+
+    //test2
+    @Test
+    public void importCsvTest() throws Exception {
+        String dump = "id,name,title,race,profession,birthday,banned,experience,level,untilNextLevel\n"
+                + "1,Гном,\"Мастер, \"\"кузнец\"\"\",DWARF,WARRIOR,988059506545,false,100,0,0\n"
+                + "2,Гоблин,Вор,GOBLIN,ROGUE,not-a-date,false,100,0,0\n";
+
+        JsonNode summary = importDump("csv", dump);
+
+        assertEquals("Не правильное количество принятых записей при запросе POST /rest/players/import?format=csv.", 1L, summary.get("accepted").asLong());
+        assertEquals("Не правильные номера строк при запросе POST /rest/players/import?format=csv.", "[3]", summary.get("rejectedLines").toString());
+
+        JsonNode imported = mapper.readTree(mockMvc.perform(get("/rest/players/41"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        assertEquals("Не правильно прочитан title при запросе POST /rest/players/import?format=csv.", "Мастер, \"кузнец\"", imported.get("title").asText());
+    }
+
+    //test3
+    @Test
+    public void importWithWrongFormatOrHeaderTest() throws Exception {
+        mockMvc.perform(post("/rest/players/import?format=xml").content("{}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/rest/players/import?format=csv").content("name,title\nА,Б\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    //test4
+    @Test
+    public void importNdjsonContinuesAfterMalformedLineTest() throws Exception {
+        String dump = "{\"name\":\"Амарфиэль\",\"title\":\"Из Лесного народа\",\"race\":\"ELF\",\"profession\":\"DRUID\",\"birthday\":988059506545,\"experience\":63986}\n"
+                + "{\"name\":\"Сломан\",\"title\":\n"
+                + "\n"
+                + "{\"name\":\"Орк\",\"title\":\"Громила\",\"race\":\"ORC\",\"profession\":\"WARRIOR\",\"birthday\":988059506545,\"experience\":10} лишнее\n"
+                + "{\"name\":\"Гном\",\"title\":\"Кузнец\",\"race\":\"DWARF\",\"profession\":\"WARRIOR\",\"birthday\":988059506545,\"experience\":10}";
+
+        JsonNode summary = importDump("ndjson", dump);
+
+        assertEquals("Не правильное количество принятых записей после испорченной строки при запросе POST /rest/players/import.", 2L, summary.get("accepted").asLong());
+        assertEquals("Не правильные номера строк после испорченной строки при запросе POST /rest/players/import.", "[2,4]", summary.get("rejectedLines").toString());
+        assertEquals("Выгрузка NDJSON не должна считаться оборванной при запросе POST /rest/players/import.", false, summary.get("truncated").asBoolean());
+        assertEquals("Не правильное количество игроков после POST /rest/players/import.", "42", count());
+    }
+
+    //test5
+    @Test
+    public void importRefusedWhenTransferPoolFullTest() throws Exception {
+        String dump = "{\"name\":\"Амарфиэль\",\"title\":\"Из Лесного народа\",\"race\":\"ELF\",\"profession\":\"DRUID\",\"birthday\":988059506545,\"experience\":63986}\n";
+
+        CountDownLatch release = occupyTransferPool();
+        try {
+            MockHttpServletResponse response = mockMvc.perform(post("/rest/players/import")
+                    .content(dump.getBytes(StandardCharsets.UTF_8)))
+                    .andExpect(status().isServiceUnavailable())
+                    .andReturn().getResponse();
+
+            assertEquals("Отказ в загрузке должен содержать Retry-After.", "1", response.getHeader(HttpHeaders.RETRY_AFTER));
+        } finally {
+            release.countDown();
+        }
+        assertEquals("Отклоненная загрузка не должна добавлять игроков.", "40", count());
+    }
+
+    //test6
+    @Test
+    public void importCsvUnmatchedQuoteTruncatesTest() throws Exception {
+        StringBuilder dump = new StringBuilder("id,name,title,race,profession,birthday,banned,experience,level,untilNextLevel\n")
+                .append("1,Гном,Кузнец,DWARF,WARRIOR,988059506545,false,100,0,0\n")
+                .append("2,Гоблин,\"Вор,GOBLIN,ROGUE,988059506545,false,100,0,0\n");
+        while (dump.length() < 2 * PlayerImportReader.MAX_RECORD_LENGTH) {
+            dump.append("3,Орк,Громила,ORC,WARRIOR,988059506545,false,100,0,0\n");
+        }
+
+        JsonNode summary = importDump("csv", dump.toString());
+
+        assertEquals("Не правильное количество принятых записей до незакрытой кавычки при запросе POST /rest/players/import?format=csv.", 1L, summary.get("accepted").asLong());
+        assertEquals("Не правильные номера строк при незакрытой кавычке при запросе POST /rest/players/import?format=csv.", "[3]", summary.get("rejectedLines").toString());
+        assertEquals("Выгрузка с незакрытой кавычкой должна считаться оборванной при запросе POST /rest/players/import?format=csv.", true, summary.get("truncated").asBoolean());
+        assertEquals("Не правильное количество игроков после POST /rest/players/import?format=csv.", "41", count());
+    }
+
+    //test7
+    @Test
+    public void importCsvSkipsOverlongRecordTest() throws Exception {
+        StringBuilder overlong = new StringBuilder("2,");
+        while (overlong.length() <= PlayerImportReader.MAX_RECORD_LENGTH) {
+            overlong.append("Гоблин");
+        }
+        String dump = "id,name,title,race,profession,birthday,banned,experience,level,untilNextLevel\n"
+                + "1,Гном,Кузнец,DWARF,WARRIOR,988059506545,false,100,0,0\n"
+                + overlong + ",Вор,GOBLIN,ROGUE,988059506545,false,100,0,0\n"
+                + "3,Орк,Громила,ORC,WARRIOR,988059506545,false,100,0,0\n";
+
+        JsonNode summary = importDump("csv", dump);
+
+        assertEquals("Не правильное количество принятых записей после слишком длинной строки при запросе POST /rest/players/import?format=csv.", 2L, summary.get("accepted").asLong());
+        assertEquals("Не правильные номера строк после слишком длинной строки при запросе POST /rest/players/import?format=csv.", "[3]", summary.get("rejectedLines").toString());
+        assertEquals("Выгрузка со слишком длинной строкой не должна считаться оборванной при запросе POST /rest/players/import?format=csv.", false, summary.get("truncated").asBoolean());
+        assertEquals("Не правильное количество игроков после POST /rest/players/import?format=csv.", "42", count());
+    }
+
+    private JsonNode importDump(String format, String dump) throws Exception {
+        MvcResult result = mockMvc.perform(post("/rest/players/import?format=" + format)
+                .content(dump.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andReturn();
+        return mapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    private String count() throws Exception {
+        return mockMvc.perform(get("/rest/players/count"))
+                .andReturn().getResponse().getContentAsString();
+    }
+}
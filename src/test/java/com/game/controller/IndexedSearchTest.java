@@ -0,0 +1,75 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.controller.utils.PlayerInfoTest;
+import com.game.controller.utils.TestsHelper;
+import com.game.entity.Race;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = "players.index.enabled=true")
+public class IndexedSearchTest extends AbstractTest {
+
+    private final TestsHelper testsHelper = new TestsHelper();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final TypeReference<List<PlayerInfoTest>> typeReference = new TypeReference<List<PlayerInfoTest>>() {
+    };
+
+    //test1
+    @Test
+    public void getAllFromIndexWithFiltersRaceOrderExperience() throws Exception {
+        MvcResult result = mockMvc.perform(get("/rest/players?race=ELF&minLevel=30&order=EXPERIENCE&pageNumber=1"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        List<PlayerInfoTest> actual = mapper.readValue(result.getResponse().getContentAsString(), typeReference);
+        List<PlayerInfoTest> sorted = testsHelper.getPlayerInfosByMinLevel(30,
+                testsHelper.getPlayerInfosByRace(Race.ELF, testsHelper.getAllPlayers())).stream()
+                .sorted(Comparator.comparing((PlayerInfoTest info) -> info.experience))
+                .collect(Collectors.toList());
+        List<PlayerInfoTest> expected = testsHelper.getPlayerInfosByPage(1, 3, sorted);
+
+        assertEquals("Возвращается не правильный результат при запросе GET /rest/players из индекса.", expected, actual);
+    }
+
+    //test2
+    @Test
+    public void getCountFromIndexWithFiltersNameBanned() throws Exception {
+        MvcResult result = mockMvc.perform(get("/rest/players/count?name=а&banned=false"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        int actual = Integer.parseInt(result.getResponse().getContentAsString());
+        int expected = testsHelper.getPlayerInfosByBaned(false,
+                testsHelper.getPlayerInfosByName("а", testsHelper.getAllPlayers())).size();
+
+        assertEquals("Возвращается не правильный результат при запросе GET /rest/players/count из индекса.", expected, actual);
+    }
+
+    //test3
+    @Test
+    public void getAllFromIndexSkipsPlayersDeletedBeforeLoad() throws Exception {
+        // removes the row behind the index's back, as a concurrent delete does between the lookup and the load
+        context.getBean(JdbcTemplate.class).update("DELETE FROM player WHERE id = 1");
+
+        MvcResult result = mockMvc.perform(get("/rest/players"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        List<PlayerInfoTest> actual = mapper.readValue(result.getResponse().getContentAsString(), typeReference);
+        List<PlayerInfoTest> expected = testsHelper.getPlayerInfosByPage(0, 3, testsHelper.getAllPlayers()).subList(1, 3);
+
+        assertEquals("Удаленный игрок должен пропускаться при запросе GET /rest/players из индекса.", expected, actual);
+    }
+}
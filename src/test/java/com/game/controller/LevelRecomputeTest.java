@@ -0,0 +1,91 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.level.LevelCurve;
+import com.game.level.ThresholdLevelCurve;
+import com.game.repository.IPlayerRepository;
+import com.game.service.LevelRecomputer;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class LevelRecomputeTest extends AbstractTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    //test1
+    @Test
+    public void recomputeAppliesNewCurveToStoredPlayers() throws Exception {
+        LevelCurve curve = ThresholdLevelCurve.quadratic(100);
+        getPlayer(1);
+
+        long updated = context.getBean(LevelRecomputer.class).recompute(curve).get(10, TimeUnit.SECONDS);
+
+        assertEquals("Не все игроки пересчитаны новой кривой уровней.", true, updated > 0);
+        for (long id : new long[]{1, 20, 40}) {
+            JsonNode player = getPlayer(id);
+            int experience = player.get("experience").asInt();
+            assertEquals("Не пересчитан уровень игрока " + id + ".", curve.levelOf(experience), player.get("level").asInt());
+            assertEquals("Не пересчитан опыт до следующего уровня игрока " + id + ".",
+                    curve.untilNextLevel(experience), player.get("untilNextLevel").asInt());
+        }
+        assertEquals("Не сохранена кривая уровней после пересчета.", curve.getId(),
+                context.getBean(IPlayerRepository.class).findLevelCurve());
+    }
+
+    //test2
+    @Test
+    public void recomputeWithStoredCurveChangesNothing() throws Exception {
+        long updated = context.getBean(LevelRecomputer.class).recompute(context.getBean(LevelCurve.class))
+                .get(10, TimeUnit.SECONDS);
+
+        assertEquals("Пересчитаны игроки, уровни которых уже соответствуют кривой.", 0L, updated);
+    }
+
+    //test3
+    @Test
+    public void failedRecomputeKeepsStoredCurve() throws Exception {
+        IPlayerRepository repository = context.getBean(IPlayerRepository.class);
+        String stored = repository.findLevelCurve();
+        LevelCurve valid = ThresholdLevelCurve.quadratic(100);
+        LevelCurve failing = new LevelCurve() {
+            @Override
+            public String getId() {
+                return "failing";
+            }
+
+            @Override
+            public int levelOf(int experience) {
+                if (experience > 100_000) throw new IllegalStateException("recompute crashed");
+                return valid.levelOf(experience);
+            }
+
+            @Override
+            public int untilNextLevel(int experience) {
+                return valid.untilNextLevel(experience);
+            }
+        };
+
+        boolean failed = false;
+        try {
+            context.getBean(LevelRecomputer.class).recompute(failing).get(10, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            failed = true;
+        }
+
+        assertEquals("Прерванный пересчет должен завершаться ошибкой.", true, failed);
+        assertEquals("Кривая уровней сохранена, хотя пересчет прерван.", stored, repository.findLevelCurve());
+    }
+
+    private JsonNode getPlayer(long id) throws Exception {
+        return mapper.readTree(mockMvc.perform(get("/rest/players/" + id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,158 @@
+package com.game.controller;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class OptimisticUpdateTest extends AbstractTest {
+    private static final Log LOG = LogFactory.getLog(OptimisticUpdateTest.class);
+    private static final int THREADS = 4;
+    private static final int INCREMENTS = 25;
+
+    //test1
+    @Test
+    public void staleIfMatchIsRejectedTest() throws Exception {
+        String etag = etagOf(3);
+
+        String newETag = mockMvc.perform(post("/rest/players/3")
+                .header(HttpHeaders.IF_MATCH, etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"First\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertTrue("ETag не изменился после обновления с If-Match.", !etag.equals(newETag));
+
+        mockMvc.perform(post("/rest/players/3")
+                .header(HttpHeaders.IF_MATCH, etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Second\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        String json = mockMvc.perform(get("/rest/players/3"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue("Обновление с устаревшим If-Match перезаписало игрока: " + json, json.contains("\"name\":\"First\""));
+    }
+
+    //test2
+    @Test
+    public void foreignOrWeakIfMatchIsRejectedTest() throws Exception {
+        String etag = etagOf(3);
+
+        mockMvc.perform(post("/rest/players/4")
+                .header(HttpHeaders.IF_MATCH, etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Other\"}"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(post("/rest/players/3")
+                .header(HttpHeaders.IF_MATCH, "W/" + etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Other\"}"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(post("/rest/players/3")
+                .header(HttpHeaders.IF_MATCH, "*")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Other\"}"))
+                .andExpect(status().isOk());
+    }
+
+    //test3
+    @Test
+    public void concurrentIncrementsAreNotLostTest() throws Exception {
+        int initial = experienceOf(1);
+
+        ExecutorService clients = Executors.newFixedThreadPool(THREADS);
+        List<Future<Integer>> applied = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < THREADS; i++) {
+            applied.add(clients.submit(() -> {
+                int ok = 0;
+                for (int j = 0; j < INCREMENTS; j++) {
+                    int status = mockMvc.perform(post("/rest/players/1/experience?delta=1"))
+                            .andReturn().getResponse().getStatus();
+                    if (status == 200) ok++;
+                    else assertEquals("Неожиданный статус при конкурентном обновлении.", 409, status);
+                }
+                return ok;
+            }));
+        }
+        int total = 0;
+        for (Future<Integer> future : applied) {
+            total += future.get();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        clients.shutdown();
+        clients.awaitTermination(10, TimeUnit.SECONDS);
+
+        int requests = THREADS * INCREMENTS;
+        int conflicts = requests - total;
+        String measured = "применено " + total + " из " + requests + ", конфликтов " + conflicts
+                + String.format(", %.1f обновлений/с", total / seconds);
+        // throughput and conflict rate depend on the machine; ContendedUpdateBenchmark measures them
+        LOG.info("Конкурентные обновления: " + measured);
+        assertEquals("Потеряны обновления при конкурентных запросах: " + measured, initial + total, experienceOf(1));
+    }
+
+    //test4
+    @Test
+    public void concurrentIfMatchIncrementsApplyOnceTest() throws Exception {
+        int initial = experienceOf(2);
+        String etag = etagOf(2);
+
+        ExecutorService clients = Executors.newFixedThreadPool(THREADS);
+        List<Future<Integer>> statuses = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            statuses.add(clients.submit(() -> mockMvc.perform(post("/rest/players/2/experience?delta=1")
+                    .header(HttpHeaders.IF_MATCH, etag))
+                    .andReturn().getResponse().getStatus()));
+        }
+        int applied = 0;
+        for (Future<Integer> future : statuses) {
+            int status = future.get();
+            if (status == 200) applied++;
+            else assertEquals("Неожиданный статус при конкурентном обновлении с If-Match.", 412, status);
+        }
+        clients.shutdown();
+        clients.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertEquals("С одним и тем же If-Match должно примениться ровно одно обновление.", 1, applied);
+        assertEquals("Не правильный опыт после конкурентных обновлений с If-Match.", initial + 1, experienceOf(2));
+    }
+
+    //test5
+    @Test
+    public void experienceOutOfRangeTest() throws Exception {
+        mockMvc.perform(post("/rest/players/1/experience?delta=-100000000"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/rest/players/100/experience?delta=1"))
+                .andExpect(status().isNotFound());
+    }
+
+    private String etagOf(long id) throws Exception {
+        return mockMvc.perform(get("/rest/players/" + id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private int experienceOf(long id) throws Exception {
+        String json = mockMvc.perform(get("/rest/players/" + id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return Integer.parseInt(json.replaceAll(".*\"experience\":(\\d+).*", "$1"));
+    }
+}
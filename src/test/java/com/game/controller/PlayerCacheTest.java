@@ -0,0 +1,57 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.cache.PlayerCache;
+import com.game.controller.utils.PlayerInfoTest;
+import com.game.controller.utils.TestsHelper;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class PlayerCacheTest extends AbstractTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    //test1
+    @Test
+    public void repeatedGetIsServedFromCache() throws Exception {
+        PlayerCache cache = context.getBean(PlayerCache.class);
+        long hits = cache.getHitCount();
+
+        mockMvc.perform(get("/rest/players/7")).andExpect(status().isOk());
+        mockMvc.perform(get("/rest/players/7")).andExpect(status().isOk());
+
+        assertEquals("Повторный запрос GET /rest/players/7 не попал в кэш.", hits + 1, cache.getHitCount());
+    }
+
+    //test2
+    @Test
+    public void updateRefreshesCachedPlayer() throws Exception {
+        mockMvc.perform(get("/rest/players/7")).andExpect(status().isOk());
+        mockMvc.perform(post("/rest/players/7")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(String.format(TestsHelper.JSON_SKELETON, "Обновлен", true, 1000)))
+                .andExpect(status().isOk());
+
+        MvcResult result = mockMvc.perform(get("/rest/players/7")).andExpect(status().isOk()).andReturn();
+        PlayerInfoTest actual = mapper.readValue(result.getResponse().getContentAsString(), PlayerInfoTest.class);
+
+        assertEquals("Из кэша возвращается устаревший игрок после POST /rest/players/7.", "Обновлен", actual.name);
+        assertEquals("Из кэша возвращается устаревший игрок после POST /rest/players/7.", 1000, actual.experience);
+    }
+
+    //test3
+    @Test
+    public void deleteInvalidatesCachedPlayer() throws Exception {
+        mockMvc.perform(get("/rest/players/7")).andExpect(status().isOk());
+        mockMvc.perform(delete("/rest/players/7")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/rest/players/7")).andExpect(status().isNotFound());
+    }
+}
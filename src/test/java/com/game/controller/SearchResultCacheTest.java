@@ -0,0 +1,46 @@
+package com.game.controller;
+
+import com.game.cache.SearchResultCache;
+import com.game.controller.utils.TestsHelper;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class SearchResultCacheTest extends AbstractTest {
+
+    //test1
+    @Test
+    public void repeatedSearchIsServedFromCache() throws Exception {
+        SearchResultCache cache = context.getBean(SearchResultCache.class);
+        long hits = cache.getHitCount();
+
+        mockMvc.perform(get("/rest/players?race=ELF&order=LEVEL")).andExpect(status().isOk());
+        mockMvc.perform(get("/rest/players?race=ELF&order=LEVEL&name=")).andExpect(status().isOk());
+
+        assertEquals("Повторный поиск GET /rest/players не попал в кэш.", hits + 1, cache.getHitCount());
+    }
+
+    //test2
+    @Test
+    public void createInvalidatesCachedCount() throws Exception {
+        int before = count("/rest/players/count?banned=true");
+
+        mockMvc.perform(post("/rest/players")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TestsHelper.BANNED_TRUE_JSON))
+                .andExpect(status().isOk());
+
+        assertEquals("После POST /rest/players из кэша возвращается устаревшее количество.", before + 1,
+                count("/rest/players/count?banned=true"));
+    }
+
+    private int count(String url) throws Exception {
+        MvcResult result = mockMvc.perform(get(url)).andExpect(status().isOk()).andReturn();
+        return Integer.parseInt(result.getResponse().getContentAsString());
+    }
+}
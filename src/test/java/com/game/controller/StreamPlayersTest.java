@@ -0,0 +1,67 @@
+package com.game.controller;
+
+import com.game.controller.utils.TestsHelper;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class StreamPlayersTest extends AbstractTest {
+
+    //test1
+    @Test
+    public void streamPushesUpdatesAndDeletes() throws Exception {
+        MvcResult stream = subscribe();
+
+        mockMvc.perform(post("/rest/players/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"banned\": true}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/rest/players/2"))
+                .andExpect(status().isOk());
+
+        String events = awaitContent(stream, "\"type\":\"DELETED\"");
+        assertTrue("Нет события updated в GET /rest/players/stream: " + events,
+                events.contains("event:updated") && events.contains("\"id\":1") && events.contains("\"banned\":true"));
+        assertTrue("Нет события deleted в GET /rest/players/stream: " + events, events.contains("\"id\":2"));
+    }
+
+    //test2
+    @Test
+    public void streamPushesCreatedPlayer() throws Exception {
+        MvcResult stream = subscribe();
+
+        mockMvc.perform(post("/rest/players")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TestsHelper.NORMAL_JSON))
+                .andExpect(status().isOk());
+
+        String events = awaitContent(stream, "\"type\":\"CREATED\"");
+        assertTrue("Нет нового игрока в событии created: " + events, events.contains("\"id\":41"));
+    }
+
+    private MvcResult subscribe() throws Exception {
+        MockMvc raw = MockMvcBuilders.webAppContextSetup(context).build();
+        return raw.perform(get("/rest/players/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private static String awaitContent(MvcResult stream, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String content = stream.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            content = stream.getResponse().getContentAsString();
+        }
+        return content;
+    }
+}
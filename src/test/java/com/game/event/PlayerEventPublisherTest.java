@@ -0,0 +1,118 @@
+package com.game.event;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PlayerEventPublisherTest {
+
+    private final PlayerEventPublisher publisher = new PlayerEventPublisher(2, 0, 2, 60_000);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        publisher.destroy();
+    }
+
+    //test1
+    @Test
+    public void subscriberReceivesEveryEvent() throws Exception {
+        RecordingEmitter subscriber = new RecordingEmitter(null);
+        publisher.subscribe(subscriber);
+
+        for (long id = 1; id <= 5; id++) {
+            publisher.publish(PlayerEvent.deleted(id));
+            assertTrue("event " + id + " not delivered", subscriber.sent.tryAcquire(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, publisher.getSubscribers());
+        assertEquals(5, publisher.getPublished());
+    }
+
+    //test2
+    @Test
+    public void slowSubscriberIsDroppedWithoutBlockingOthers() throws Exception {
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter(null);
+        publisher.subscribe(slow);
+        publisher.subscribe(fast);
+
+        publisher.publish(PlayerEvent.deleted(1L));
+        assertTrue("first event not picked up", slow.sending.await(5, TimeUnit.SECONDS));
+        // the slow subscriber's buffer holds two events, the third one overflows it
+        for (long id = 1; id <= 3; id++) {
+            assertTrue("fast subscriber held back", fast.sent.tryAcquire(5, TimeUnit.SECONDS));
+            publisher.publish(PlayerEvent.deleted(id + 1));
+        }
+
+        assertEquals(1, publisher.getSubscribers());
+        assertEquals(1, publisher.getDroppedSubscribers());
+        assertTrue("fast subscriber held back", fast.sent.tryAcquire(5, TimeUnit.SECONDS));
+    }
+
+    //test3
+    @Test
+    public void stalledSubscribersDoNotHoldSenderThreads() throws Exception {
+        PlayerEventPublisher publisher = new PlayerEventPublisher(2, 0, 2, 100);
+        try {
+            RecordingEmitter stalled1 = new RecordingEmitter(release);
+            RecordingEmitter stalled2 = new RecordingEmitter(release);
+            RecordingEmitter fast = new RecordingEmitter(null);
+            publisher.subscribe(stalled1);
+            publisher.subscribe(stalled2);
+            publisher.subscribe(fast);
+
+            publisher.publish(PlayerEvent.deleted(1L));
+            // both sender threads are now stuck writing to clients that stopped reading
+            assertTrue("first event not picked up", stalled1.sending.await(5, TimeUnit.SECONDS));
+            assertTrue("first event not picked up", stalled2.sending.await(5, TimeUnit.SECONDS));
+            for (long id = 1; id <= 3; id++) {
+                assertTrue("fast subscriber held back by stalled ones", fast.sent.tryAcquire(5, TimeUnit.SECONDS));
+                publisher.publish(PlayerEvent.deleted(id + 1));
+            }
+            assertTrue("fast subscriber held back by stalled ones", fast.sent.tryAcquire(5, TimeUnit.SECONDS));
+
+            assertEquals(1, publisher.getSubscribers());
+            assertEquals(2, publisher.getStalledSubscribers());
+
+            release.countDown();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (publisher.getSenderThreads() > 2 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals("threads lent for stalled sends must be returned", 2, publisher.getSenderThreads());
+        } finally {
+            publisher.destroy();
+        }
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        final Semaphore sent = new Semaphore(0);
+        final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sending.countDown();
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sent.release();
+        }
+    }
+}
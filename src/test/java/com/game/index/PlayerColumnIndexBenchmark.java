@@ -0,0 +1,116 @@
+package com.game.index;
+
+import com.game.controller.PlayerOrder;
+import com.game.controller.SearchFilter;
+import com.game.entity.Player;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the column index with the entity loop {@code PlayersService} used before filtering moved out of memory.
+ * Run with {@code java -cp target/test-classes:<test classpath> org.openjdk.jmh.Main PlayerColumnIndexBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PlayerColumnIndexBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int players;
+
+    private final List<Player> entities = new ArrayList<>();
+    private final PlayerColumnIndex index = new PlayerColumnIndex(true);
+    private final SearchFilter searchFilter = new SearchFilter(null, null, Race.ORC, Profession.WARLOCK,
+            null, null, true, 10_000, null, null, null);
+    private final SearchFilter categoricalFilter = new SearchFilter(null, null, Race.ORC, Profession.WARLOCK,
+            null, null, true, null, null, null, null);
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        for (long id = 1; id <= players; id++) {
+            Player player = new Player();
+            player.setId(id);
+            player.setName("Player" + id);
+            player.setTitle("Title" + random.nextInt(1000));
+            player.setRace(Race.values()[random.nextInt(Race.values().length)]);
+            player.setProfession(Profession.values()[random.nextInt(Profession.values().length)]);
+            player.setBirthday(new Date(946684800000L + random.nextInt(365 * 10) * 86_400_000L));
+            player.setBanned(random.nextBoolean());
+            player.setExperience(random.nextInt(10_000_001));
+            player.setLevel(player.getExperience() / 100_000);
+            entities.add(player);
+            index.put(player);
+        }
+    }
+
+    @Benchmark
+    public int entityLoopCount() {
+        return filtered(entities, searchFilter).size();
+    }
+
+    @Benchmark
+    public int columnIndexCount() {
+        return index.count(searchFilter);
+    }
+
+    @Benchmark
+    public int entityLoopCategoricalCount() {
+        return filtered(entities, categoricalFilter).size();
+    }
+
+    @Benchmark
+    public int bitmapCategoricalCount() {
+        return index.count(categoricalFilter);
+    }
+
+    @Benchmark
+    public List<Long> columnIndexFirstPage() {
+        return index.find(searchFilter, PlayerOrder.LEVEL, 0, 20);
+    }
+
+    private List<Player> filtered(List<Player> players, SearchFilter searchFilter) {
+        List<Player> filteredList = new ArrayList<>();
+
+        players.forEach(player -> {
+                    if (searchFilter.getName() != null && !player.getName().contains(searchFilter.getName())) return;
+                    if (searchFilter.getTitle() != null && !player.getTitle().contains(searchFilter.getTitle())) return;
+                    if (searchFilter.getRace() != null && !player.getRace().equals(searchFilter.getRace())) return;
+                    if (searchFilter.getProfession() != null && !player.getProfession().equals(searchFilter.getProfession()))
+                        return;
+                    if (searchFilter.getAfter() != null && player.getBirthday().getTime() < searchFilter.getAfter()) return;
+                    if (searchFilter.getBefore() != null && player.getBirthday().getTime() > searchFilter.getBefore()) return;
+                    if (searchFilter.getBanned() != null && !player.getBanned().equals(searchFilter.getBanned())) return;
+                    if (searchFilter.getMinExperience() != null && player.getExperience() < searchFilter.getMinExperience())
+                        return;
+                    if (searchFilter.getMaxExperience() != null && player.getExperience() > searchFilter.getMaxExperience())
+                        return;
+                    if (searchFilter.getMinLevel() != null && player.getLevel() < searchFilter.getMinLevel()) return;
+                    if (searchFilter.getMaxLevel() != null && player.getLevel() > searchFilter.getMaxLevel()) return;
+
+                    filteredList.add(player);
+                }
+        );
+        return filteredList;
+    }
+}
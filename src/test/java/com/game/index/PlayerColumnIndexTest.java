@@ -0,0 +1,152 @@
+package com.game.index;
+
+import com.game.controller.PlayerOrder;
+import com.game.controller.SearchFilter;
+import com.game.controller.utils.PlayerInfoTest;
+import com.game.controller.utils.TestsHelper;
+import com.game.entity.Player;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+public class PlayerColumnIndexTest {
+
+    private final TestsHelper testsHelper = new TestsHelper();
+    private final PlayerColumnIndex index = new PlayerColumnIndex(true);
+
+    @Before
+    public void setup() {
+        testsHelper.getAllPlayers().forEach(info -> index.put(toPlayer(info)));
+    }
+
+    //test1
+    @Test
+    public void countMatchesFilteredPlayers() {
+        SearchFilter searchFilter = new SearchFilter("ри", null, null, null, 1104530400000L, null, null,
+                null, null, null, 40);
+        int expected = testsHelper.getPlayerInfosByMaxLevel(40,
+                testsHelper.getPlayerInfosByAfter(1104530400000L,
+                        testsHelper.getPlayerInfosByName("ри",
+                                testsHelper.getAllPlayers()))).size();
+
+        assertEquals(expected, index.count(searchFilter));
+    }
+
+    //test2
+    @Test
+    public void findReturnsSortedPage() {
+        SearchFilter searchFilter = new SearchFilter(null, null, Race.ELF, null, null, null, false,
+                null, null, null, null);
+        List<Long> expected = testsHelper.getPlayerInfosByBaned(false,
+                testsHelper.getPlayerInfosByRace(Race.ELF, testsHelper.getAllPlayers())).stream()
+                .sorted((a, b) -> a.level.equals(b.level) ? a.id.compareTo(b.id) : a.level.compareTo(b.level))
+                .map(info -> info.id)
+                .skip(2)
+                .limit(3)
+                .collect(Collectors.toList());
+
+        assertEquals(expected, index.find(searchFilter, PlayerOrder.LEVEL, 2, 3));
+    }
+
+    //test3
+    @Test
+    public void putAndRemoveKeepIndexConsistent() {
+        SearchFilter dwarfClerics = new SearchFilter(null, null, Race.DWARF, Profession.CLERIC, null, null, null,
+                null, null, null, null);
+        int before = index.count(dwarfClerics);
+
+        index.remove(3L);
+        PlayerInfoTest info = testsHelper.getPlayerInfosById(4);
+        Player player = toPlayer(info);
+        player.setProfession(Profession.CLERIC);
+        index.put(player);
+
+        SearchFilter all = new SearchFilter(null, null, null, null, null, null, null,
+                null, null, null, null);
+        assertEquals(before, index.count(dwarfClerics));
+        assertEquals(testsHelper.getAllPlayers().size() - 1, index.count(all));
+    }
+
+    //test4
+    @Test
+    public void changedRaceMovesPlayerBetweenBitmaps() {
+        SearchFilter bannedDwarves = new SearchFilter(null, null, Race.DWARF, null, null, null, true,
+                null, null, null, null);
+        SearchFilter bannedOrcs = new SearchFilter(null, null, Race.ORC, null, null, null, true,
+                null, null, null, null);
+        int dwarves = index.count(bannedDwarves);
+        int orcs = index.count(bannedOrcs);
+
+        Player player = toPlayer(testsHelper.getPlayerInfosById(3));
+        player.setRace(Race.ORC);
+        index.put(player);
+
+        assertEquals(dwarves - 1, index.count(bannedDwarves));
+        assertEquals(orcs + 1, index.count(bannedOrcs));
+    }
+
+    //test5
+    @Test
+    public void nameAndTitleSearchUsesTrigramsAndShortValues() {
+        for (String value : new String[]{"ий", "Вои", "ель", "Темный", "нет такого"}) {
+            SearchFilter byTitle = new SearchFilter(null, value, null, null, null, null, null,
+                    null, null, null, null);
+            SearchFilter byName = new SearchFilter(value, null, null, null, null, null, null,
+                    null, null, null, null);
+
+            assertEquals(testsHelper.getPlayerInfosByTitle(value, testsHelper.getAllPlayers()).size(), index.count(byTitle));
+            assertEquals(testsHelper.getPlayerInfosByName(value, testsHelper.getAllPlayers()).size(), index.count(byName));
+        }
+    }
+
+    //test6
+    @Test
+    public void renamedPlayerIsFoundByNewTrigrams() {
+        Player player = toPlayer(testsHelper.getPlayerInfosById(1));
+        player.setName("Переименован");
+        index.put(player);
+
+        SearchFilter oldName = new SearchFilter("Ниус", null, null, null, null, null, null,
+                null, null, null, null);
+        SearchFilter newName = new SearchFilter("именов", null, null, null, null, null, null,
+                null, null, null, null);
+
+        assertEquals(0, index.count(oldName));
+        assertEquals(1, index.count(newName));
+    }
+
+    //test7
+    @Test
+    public void findPageReturnsPageAndTotal() {
+        SearchFilter searchFilter = new SearchFilter(null, null, null, Profession.ROGUE, null, null, null,
+                null, null, null, null);
+
+        PlayerColumnIndex.IdPage page = index.findPage(searchFilter, PlayerOrder.EXPERIENCE, 1, 2);
+
+        assertEquals(index.find(searchFilter, PlayerOrder.EXPERIENCE, 1, 2), page.getIds());
+        assertEquals(testsHelper.getPlayerInfosByProfession(Profession.ROGUE, testsHelper.getAllPlayers()).size(),
+                page.getTotal());
+    }
+
+    private Player toPlayer(PlayerInfoTest info) {
+        Player player = new Player();
+        player.setId(info.id);
+        player.setName(info.name);
+        player.setTitle(info.title);
+        player.setRace(info.race);
+        player.setProfession(info.profession);
+        player.setBirthday(new Date(info.birthday));
+        player.setBanned(info.banned);
+        player.setExperience(info.experience);
+        player.setLevel(info.level);
+        player.setUntilNextLevel(info.untilNextLevel);
+        return player;
+    }
+}
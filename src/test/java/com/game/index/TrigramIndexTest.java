@@ -0,0 +1,76 @@
+package com.game.index;
+
+import org.junit.Test;
+
+import java.util.BitSet;
+
+import static org.junit.Assert.assertEquals;
+
+public class TrigramIndexTest {
+
+    private final TrigramIndex index = new TrigramIndex();
+
+    //test1
+    @Test
+    public void retainsSlotsHoldingEveryTrigram() {
+        index.add(5, "Ухастый Летун");
+        index.add(1, "Летучий");
+        index.add(1_000_000, "Летун");
+        index.add(3, "Тсе Раа");
+
+        BitSet candidates = all(1_000_001);
+        index.retainCandidates(candidates, "Летун");
+
+        assertEquals(bits(5, 1_000_000), candidates);
+    }
+
+    //test2
+    @Test
+    public void keepsOnlyGivenCandidates() {
+        index.add(2, "Летун");
+        index.add(7, "Летун");
+        index.add(9, "Летун");
+
+        BitSet candidates = bits(2, 9, 11);
+        index.retainCandidates(candidates, "Лет");
+
+        assertEquals(bits(2, 9), candidates);
+    }
+
+    //test3
+    @Test
+    public void removedAndReusedSlotsAreNotMatched() {
+        for (int slot = 0; slot < 100; slot++) {
+            index.add(slot, "Воин" + slot);
+        }
+        index.remove(40, "Воин40");
+        index.add(40, "Маг");
+        index.remove(41, "Воин41");
+
+        BitSet candidates = all(100);
+        index.retainCandidates(candidates, "Воин");
+        assertEquals(98, candidates.cardinality());
+
+        candidates = all(100);
+        index.retainCandidates(candidates, "Маг");
+        assertEquals(bits(40), candidates);
+
+        candidates = all(100);
+        index.retainCandidates(candidates, "нет такого");
+        assertEquals(new BitSet(), candidates);
+    }
+
+    private static BitSet all(int slots) {
+        BitSet bits = new BitSet();
+        bits.set(0, slots);
+        return bits;
+    }
+
+    private static BitSet bits(int... slots) {
+        BitSet bits = new BitSet();
+        for (int slot : slots) {
+            bits.set(slot);
+        }
+        return bits;
+    }
+}
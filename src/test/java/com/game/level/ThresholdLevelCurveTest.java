@@ -0,0 +1,41 @@
+package com.game.level;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ThresholdLevelCurveTest {
+
+    //test1
+    @Test
+    public void defaultCurveMatchesOriginalFormulaOnWholeRange() {
+        LevelCurve curve = ThresholdLevelCurve.quadratic(50);
+
+        for (int exp = 0; exp <= LevelCurve.MAX_EXPERIENCE; exp++) {
+            int level = (int) (Math.sqrt(2500 + 200 * exp) - 50) / 100;
+            int untilNextLevel = 50 * (level + 1) * (level + 2) - exp;
+
+            if (curve.levelOf(exp) != level) assertEquals("Не правильный уровень для опыта " + exp + ".", level, curve.levelOf(exp));
+            if (curve.untilNextLevel(exp) != untilNextLevel) {
+                assertEquals("Не правильный опыт до следующего уровня для опыта " + exp + ".", untilNextLevel, curve.untilNextLevel(exp));
+            }
+        }
+    }
+
+    //test2
+    @Test
+    public void otherStepMovesThresholds() {
+        LevelCurve curve = ThresholdLevelCurve.quadratic(100);
+
+        assertEquals("Не правильный уровень перед порогом кривой с шагом 100.", 0, curve.levelOf(199));
+        assertEquals("Не правильный уровень на пороге кривой с шагом 100.", 1, curve.levelOf(200));
+        assertEquals("Не правильный опыт до следующего уровня кривой с шагом 100.", 400, curve.untilNextLevel(200));
+        assertEquals("Не правильный идентификатор кривой с шагом 100.", "quadratic:100", curve.getId());
+    }
+
+    //test3
+    @Test(expected = IllegalArgumentException.class)
+    public void thresholdsMustIncrease() {
+        new ThresholdLevelCurve("flat", level -> level < 3 ? level : 3);
+    }
+}
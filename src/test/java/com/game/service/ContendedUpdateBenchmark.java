@@ -0,0 +1,80 @@
+package com.game.service;
+
+import com.game.config.AppConfig;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures throughput and conflict rate of {@link PlayersService#addExperience} when every thread increments the same
+ * player, the contention {@code OptimisticUpdateTest} only checks for lost updates.
+ * Run with {@code java -cp target/test-classes:<test classpath> org.openjdk.jmh.Main ContendedUpdateBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(4)
+public class ContendedUpdateBenchmark {
+    private static final Long PLAYER_ID = 1L;
+
+    private AnnotationConfigWebApplicationContext context;
+    private IPlayerService service;
+
+    @Setup
+    public void setup() {
+        context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.getEnvironment().setActiveProfiles("dev");
+        context.register(AppConfig.class);
+        context.refresh();
+        service = context.getBean(IPlayerService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcome {
+        public long applied;
+        public long conflicts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            applied = 0;
+            conflicts = 0;
+        }
+    }
+
+    @Benchmark
+    public void contendedIncrement(Outcome outcome) {
+        try {
+            service.addExperience(PLAYER_ID, 1, null);
+            outcome.applied++;
+        } catch (OptimisticLockingFailureException e) {
+            // retries ran out: the conflict the controller answers with 409
+            outcome.conflicts++;
+        }
+    }
+}